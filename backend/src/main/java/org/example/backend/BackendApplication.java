@@ -3,10 +3,8 @@ package org.example.backend;
 import org.example.backend.utils.EnvLoader;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
-@EnableAsync
 @EnableScheduling
 @SpringBootApplication
 public class BackendApplication {
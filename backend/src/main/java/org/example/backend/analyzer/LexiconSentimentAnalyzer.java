@@ -0,0 +1,64 @@
+package org.example.backend.analyzer;
+
+import org.example.backend.enums.SentimentType;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+// Word-list classifier used when the remote model misses its latency budget; a negation flips the next few words.
+@Component
+public class LexiconSentimentAnalyzer implements SentimentAnalyzer {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}']+");
+    private static final int NEGATION_SCOPE = 3;
+
+    private static final Set<String> POSITIVE = Set.of(
+            "good", "great", "excellent", "amazing", "awesome", "fantastic", "wonderful", "brilliant",
+            "love", "loved", "like", "liked", "enjoy", "enjoyed", "helpful", "useful", "insightful",
+            "interesting", "informative", "clear", "engaging", "inspiring", "fun", "nice", "best",
+            "perfect", "impressive", "outstanding", "superb", "thanks", "thank", "happy", "glad",
+            "recommend", "well", "valuable", "smooth", "friendly", "easy", "cool", "beautiful");
+
+    private static final Set<String> NEGATIVE = Set.of(
+            "bad", "poor", "terrible", "awful", "horrible", "boring", "bored", "hate", "hated",
+            "dislike", "disliked", "useless", "confusing", "confused", "unclear", "slow", "late",
+            "worst", "waste", "wasted", "disappointing", "disappointed", "annoying", "broken",
+            "problem", "problems", "issue", "issues", "difficult", "hard", "rude", "noisy", "crowded",
+            "sad", "angry", "wrong", "fail", "failed", "meh", "mediocre", "overpriced");
+
+    private static final Set<String> NEGATIONS = Set.of(
+            "not", "no", "never", "nothing", "hardly", "without", "isn't", "wasn't", "don't",
+            "didn't", "doesn't", "can't", "couldn't", "won't", "aren't", "weren't");
+
+    @Override
+    public CompletableFuture<SentimentType> analyzeSentiment(String text) {
+        return CompletableFuture.completedFuture(classify(text));
+    }
+
+    public SentimentType classify(String text) {
+        if (text == null || text.isBlank()) {
+            return SentimentType.NEUTRAL;
+        }
+
+        int score = 0;
+        int negated = 0;
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.isEmpty()) {
+                continue;
+            }
+            if (NEGATIONS.contains(token) || token.endsWith("n't")) {
+                negated = NEGATION_SCOPE;
+                continue;
+            }
+
+            int polarity = POSITIVE.contains(token) ? 1 : NEGATIVE.contains(token) ? -1 : 0;
+            score += negated > 0 ? -polarity : polarity;
+            negated = Math.max(0, negated - 1);
+        }
+
+        return score > 0 ? SentimentType.POSITIVE : score < 0 ? SentimentType.NEGATIVE : SentimentType.NEUTRAL;
+    }
+}
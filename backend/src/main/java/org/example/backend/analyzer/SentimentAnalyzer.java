@@ -0,0 +1,10 @@
+package org.example.backend.analyzer;
+
+import org.example.backend.enums.SentimentType;
+
+import java.util.concurrent.CompletableFuture;
+
+public interface SentimentAnalyzer {
+
+    CompletableFuture<SentimentType> analyzeSentiment(String text);
+}
@@ -0,0 +1,113 @@
+package org.example.backend.analyzer;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.enums.SentimentType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Walks the classifier response token by token and keeps only the best label per input.
+// Accepts both a batched [[{label, score}, ...], ...] and a single [{label, score}, ...] response.
+@Component
+public class SentimentResponseParser {
+
+    private final ObjectMapper objectMapper;
+
+    public SentimentResponseParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public List<SentimentType> parse(byte[] response) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(response)) {
+            // The default double parsing goes through a String per score; the fast parser reads the buffer directly.
+            parser.enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER.mappedFeature());
+            expect(parser, parser.nextToken(), JsonToken.START_ARRAY);
+
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_OBJECT) {
+                return List.of(argmax(parser, token));
+            }
+
+            List<SentimentType> sentiments = new ArrayList<>();
+            while (token != JsonToken.END_ARRAY) {
+                expect(parser, token, JsonToken.START_ARRAY);
+                sentiments.add(argmax(parser, parser.nextToken()));
+                token = parser.nextToken();
+            }
+            return sentiments;
+        }
+    }
+
+    // Starts on the first token inside a prediction array and stops on its END_ARRAY.
+    private SentimentType argmax(JsonParser parser, JsonToken token) throws IOException {
+        SentimentType best = null;
+        double bestScore = Double.NEGATIVE_INFINITY;
+
+        while (token != JsonToken.END_ARRAY) {
+            expect(parser, token, JsonToken.START_OBJECT);
+            SentimentType label = null;
+            double score = Double.NEGATIVE_INFINITY;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("label".equals(field) && value == JsonToken.VALUE_STRING) {
+                    label = toSentiment(parser);
+                } else if ("score".equals(field) && value.isNumeric()) {
+                    score = parser.getDoubleValue();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (label != null && score > bestScore) {
+                best = label;
+                bestScore = score;
+            }
+            token = parser.nextToken();
+        }
+
+        if (best == null) {
+            throw new JsonParseException(parser, "Prediction without a scored label");
+        }
+        return best;
+    }
+
+    // Compares the parser's own character buffer so no label String is created.
+    private static SentimentType toSentiment(JsonParser parser) throws IOException {
+        char[] text = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        if (matches(text, offset, length, "positive")) {
+            return SentimentType.POSITIVE;
+        }
+        if (matches(text, offset, length, "negative")) {
+            return SentimentType.NEGATIVE;
+        }
+        return SentimentType.NEUTRAL;
+    }
+
+    private static boolean matches(char[] text, int offset, int length, String label) {
+        if (length != label.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (Character.toLowerCase(text[offset + i]) != label.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void expect(JsonParser parser, JsonToken actual, JsonToken expected) throws JsonParseException {
+        if (actual != expected) {
+            throw new JsonParseException(parser, "Expected " + expected + " but found " + actual);
+        }
+    }
+}
@@ -1,25 +1,63 @@
 package org.example.backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.encoder.Argon2Calibrator;
+import org.example.backend.encoder.BoundedPasswordEncoder;
+import org.example.backend.encoder.CalibratedArgon2PasswordEncoder;
 import org.example.backend.exception.NotFoundException;
 import org.example.backend.model.User;
 import org.example.backend.repository.UserRepository;
 import org.example.backend.userDetails.CustomUserDetails;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
+@Slf4j
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
 
     private final UserRepository userRepository;
 
+    @Value("${app.security.argon2.memory-kib:0}")
+    private int argon2MemoryKib;
+
+    @Value("${app.security.argon2.iterations:0}")
+    private int argon2Iterations;
+
+    @Value("${app.security.argon2.min-memory-kib:65536}")
+    private int argon2MinMemoryKib;
+
+    @Value("${app.security.argon2.min-iterations:2}")
+    private int argon2MinIterations;
+
+    @Value("${app.security.argon2.max-memory-kib:65536}")
+    private int argon2MaxMemoryKib;
+
+    @Value("${app.security.argon2.max-iterations:10}")
+    private int argon2MaxIterations;
+
+    @Value("${app.security.argon2.target-latency:250}")
+    private long argon2TargetLatency;
+
+    @Value("${app.security.password-hashing.concurrency:0}")
+    private int hashingConcurrency;
+
+    @Value("${app.security.password-hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${app.security.password-hashing.max-wait:5000}")
+    private long hashingMaxWait;
+
+    @Value("${app.security.password-hashing.heap-fraction:0.25}")
+    private double hashingHeapFraction;
+
     @Bean
     public UserDetailsService userDetailsService() {
         return username -> {
@@ -30,20 +68,38 @@ public class ApplicationConfig {
     }
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
+    // Parameters are calibrated on this machine, never below the configured minimums. Pinning memory-kib and
+    // iterations opts out, e.g. so every node hashes alike.
     @Bean
-    AuthenticationManager authenticationManager(AuthenticationConfiguration config) throws Exception {
-        return config.getAuthenticationManager();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        CalibratedArgon2PasswordEncoder argon2 = argon2MemoryKib > 0 && argon2Iterations > 0
+                ? pinnedArgon2()
+                : Argon2Calibrator.calibrate(argon2MinMemoryKib, argon2MinIterations,
+                        argon2MaxMemoryKib, argon2MaxIterations, argon2TargetLatency);
+        int concurrency = hashingConcurrency > 0 ? hashingConcurrency : concurrencyFromHeap(argon2.getMemoryKib());
+        log.info("Password hashing limited to {} concurrent hashes", concurrency);
+        return new BoundedPasswordEncoder(argon2, concurrency, hashingQueueCapacity, hashingMaxWait, meterRegistry);
     }
 
-    @Bean
-    public Argon2PasswordEncoder passwordEncoder() {
-        return new Argon2PasswordEncoder(16, 32, 1, 65536, 2);
+    private CalibratedArgon2PasswordEncoder pinnedArgon2() {
+        if ((long) argon2MemoryKib * argon2Iterations < (long) argon2MinMemoryKib * argon2MinIterations) {
+            log.warn("Pinned Argon2 parameters m={} KiB, t={} cost less than the minimum m={} KiB, t={}; "
+                            + "existing stronger hashes will not be rehashed down",
+                    argon2MemoryKib, argon2Iterations, argon2MinMemoryKib, argon2MinIterations);
+        }
+        return new CalibratedArgon2PasswordEncoder(argon2MemoryKib, argon2Iterations);
+    }
+
+    private int concurrencyFromHeap(int memoryKib) {
+        long budget = (long) (Runtime.getRuntime().maxMemory() * hashingHeapFraction);
+        int byMemory = (int) (budget / (memoryKib * 1024L));
+        return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), byMemory));
     }
 }
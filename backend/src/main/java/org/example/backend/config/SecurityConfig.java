@@ -27,6 +27,7 @@ public class SecurityConfig {
     private static final String[] WHITE_LIST_URL = {
             "/api/v1/auth/register",
             "/api/v1/auth/login",
+            "/api/v1/auth/refresh",
             "/api/v1/auth/logout",
             "/error",
             "/swagger-ui/**",
@@ -44,6 +45,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests(req -> req
                         .requestMatchers(WHITE_LIST_URL).permitAll()
                         .requestMatchers(HttpMethod.POST, "/api/v1/events").hasRole("ADMIN")
+                        .requestMatchers(HttpMethod.POST, "/api/v1/users/bulk").hasRole("ADMIN")
+                        .requestMatchers("/api/v1/reanalysis/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.GET, "/api/v1/events/**").hasAnyRole("USER", "ADMIN")
                         .anyRequest()
                         .authenticated()
@@ -0,0 +1,33 @@
+package org.example.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.resilience.CircuitBreaker;
+import org.example.backend.resilience.RateGovernor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class SentimentConfig {
+
+    @Bean
+    public CircuitBreaker sentimentCircuitBreaker(MeterRegistry meterRegistry,
+                                                  @Value("${app.ai.circuit.failure-threshold:5}") int failureThreshold,
+                                                  @Value("${app.ai.circuit.open-duration:30000}") long openDurationMillis) {
+        return new CircuitBreaker("sentiment", failureThreshold, Duration.ofMillis(openDurationMillis),
+                Clock.systemUTC(), meterRegistry);
+    }
+
+    @Bean
+    public RateGovernor sentimentRateGovernor(MeterRegistry meterRegistry,
+                                              @Value("${app.ai.quota.requests-per-second:10}") double requestsPerSecond,
+                                              @Value("${app.ai.quota.burst:10}") int burst,
+                                              @Value("${app.ai.quota.max-wait:60000}") long maxWaitMillis,
+                                              @Value("${app.ai.quota.default-retry-after:1000}") long defaultRetryAfterMillis) {
+        return new RateGovernor("sentiment", requestsPerSecond, burst, Duration.ofMillis(maxWaitMillis),
+                Duration.ofMillis(defaultRetryAfterMillis), Clock.systemUTC(), meterRegistry);
+    }
+}
@@ -1,15 +1,57 @@
 package org.example.backend.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.function.Function;
 
 @Configuration
 public class WebClientConfig {
 
+    // Pool metrics (active, idle, pending, acquire time) go to the global registry, which Spring Boot exports.
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider outboundConnectionProvider(
+            @Value("${app.http.client.max-connections:50}") int maxConnections,
+            @Value("${app.http.client.pending-acquire-max-count:500}") int pendingAcquireMaxCount,
+            @Value("${app.http.client.pending-acquire-timeout:5000}") long pendingAcquireTimeoutMillis,
+            @Value("${app.http.client.max-idle-time:30000}") long maxIdleTimeMillis,
+            @Value("${app.http.client.max-life-time:300000}") long maxLifeTimeMillis,
+            @Value("${app.http.client.evict-interval:30000}") long evictIntervalMillis) {
+        return ConnectionProvider.builder("outbound")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMaxCount)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMillis))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMillis))
+                .evictInBackground(Duration.ofMillis(evictIntervalMillis))
+                .metrics(true)
+                .build();
+    }
+
+    // Uses Boot's builder so codecs and http.client.requests observations stay in place. The response timeout
+    // defaults to app.ai.timeout so the transport never outlives the call it serves.
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder().build();
+    public WebClient webClient(WebClient.Builder builder,
+                               ConnectionProvider outboundConnectionProvider,
+                               @Value("${app.http.client.connect-timeout:2000}") int connectTimeoutMillis,
+                               @Value("${app.http.client.response-timeout:${app.ai.timeout:5000}}") long responseTimeoutMillis,
+                               @Value("${app.http.client.compression:true}") boolean compression) {
+        HttpClient httpClient = HttpClient.create(outboundConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMillis))
+                .compress(compression)
+                .metrics(true, Function.identity());
+
+        return builder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
     }
 }
-
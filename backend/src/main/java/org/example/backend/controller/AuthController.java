@@ -1,10 +1,10 @@
 package org.example.backend.controller;
 
-import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.backend.dto.login.LoginRequestDTO;
 import org.example.backend.dto.login.LoginResponseDTO;
+import org.example.backend.dto.token.RefreshTokenRequestDTO;
 import org.example.backend.dto.user.UserRequestDTO;
 import org.example.backend.dto.user.UserResponseDTO;
 import org.example.backend.service.AuthService;
@@ -31,8 +31,13 @@ public class AuthController {
         return ResponseEntity.ok(authService.loginUser(loginRequestDTO));
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<LoginResponseDTO> refreshToken(@Valid @RequestBody RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        return ResponseEntity.ok(authService.refreshToken(refreshTokenRequestDTO));
+    }
+
     @PostMapping("/logout")
-    public ResponseEntity<String> logout(HttpServletRequest request) {
-        return authService.logout(request);
+    public ResponseEntity<String> logout(@Valid @RequestBody RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        return authService.logout(refreshTokenRequestDTO);
     }
 }
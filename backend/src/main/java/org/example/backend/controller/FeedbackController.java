@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import org.example.backend.dto.feedback.FeedbackRequestDTO;
 import org.example.backend.dto.feedback.FeedbackResponseDTO;
 import org.example.backend.dto.summary.FeedbackSummaryResponseDTO;
+import org.example.backend.service.FeedbackIngestionService;
 import org.example.backend.service.FeedbackService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,9 +20,14 @@ import java.util.UUID;
 public class FeedbackController {
 
     private final FeedbackService feedbackService;
+    private final FeedbackIngestionService feedbackIngestionService;
 
     @PostMapping("/{eventId}/feedback")
     public ResponseEntity<FeedbackResponseDTO> submitFeedback(@PathVariable UUID eventId, @Valid @RequestBody FeedbackRequestDTO feedbackRequestDTO) {
+        if (feedbackIngestionService.isEnabled()) {
+            FeedbackIngestionService.Submission submission = feedbackIngestionService.submitFeedback(eventId, feedbackRequestDTO);
+            return new ResponseEntity<>(submission.feedback(), submission.committed() ? HttpStatus.CREATED : HttpStatus.ACCEPTED);
+        }
         return new ResponseEntity<>(feedbackService.submitFeedback(eventId, feedbackRequestDTO), HttpStatus.CREATED);
     }
 
@@ -0,0 +1,38 @@
+package org.example.backend.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.reanalysis.ReanalysisProgressDTO;
+import org.example.backend.service.ReanalysisService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/reanalysis")
+public class ReanalysisController {
+
+    private final ReanalysisService reanalysisService;
+
+    // Without an eventId every event is rescored.
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReanalysisProgressDTO> startReanalysis(@RequestParam(required = false) UUID eventId) {
+        return new ResponseEntity<>(reanalysisService.startReanalysis(eventId), HttpStatus.ACCEPTED);
+    }
+
+    @PostMapping("/{jobId}/resume")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReanalysisProgressDTO> resumeReanalysis(@PathVariable UUID jobId) {
+        return new ResponseEntity<>(reanalysisService.resumeReanalysis(jobId), HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReanalysisProgressDTO> getReanalysis(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(reanalysisService.getReanalysis(jobId));
+    }
+}
@@ -0,0 +1,28 @@
+package org.example.backend.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.user.BulkUserResponseDTO;
+import org.example.backend.service.UserImportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/v1/users")
+public class UserController {
+
+    private final UserImportService userImportService;
+
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkUserResponseDTO> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                           InputStream body) throws IOException {
+        return ResponseEntity.ok(userImportService.importUsers(body, contentType));
+    }
+}
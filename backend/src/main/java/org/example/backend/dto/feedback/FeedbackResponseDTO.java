@@ -22,4 +22,5 @@ public class FeedbackResponseDTO {
     private String content;
     private LocalDateTime createdAt;
     private SentimentType sentimentType;
+    private Boolean sentimentProvisional;
 }
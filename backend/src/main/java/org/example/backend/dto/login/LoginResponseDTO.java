@@ -15,4 +15,7 @@ public class LoginResponseDTO {
     @JsonProperty("token")
     private String token;
 
+    @JsonProperty("refreshToken")
+    private String refreshToken;
+
 }
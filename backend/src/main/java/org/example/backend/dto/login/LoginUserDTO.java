@@ -0,0 +1,11 @@
+package org.example.backend.dto.login;
+
+import lombok.Value;
+import org.example.backend.model.User;
+
+@Value
+public class LoginUserDTO {
+
+    User user;
+    boolean loggedIn;
+}
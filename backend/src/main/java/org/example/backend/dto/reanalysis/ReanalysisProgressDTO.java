@@ -0,0 +1,27 @@
+package org.example.backend.dto.reanalysis;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.enums.ReanalysisStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReanalysisProgressDTO {
+
+    private UUID jobId;
+    private UUID eventId;
+    private ReanalysisStatus status;
+    private long processedCount;
+    private long updatedCount;
+    private long failedCount;
+    private double feedbackPerSecond;
+    private Instant startedAt;
+    private Instant updatedAt;
+}
@@ -0,0 +1,14 @@
+package org.example.backend.dto.sentiment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class FeedbackContentDTO {
+
+    private UUID id;
+    private String content;
+}
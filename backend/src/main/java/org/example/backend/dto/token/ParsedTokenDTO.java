@@ -0,0 +1,25 @@
+package org.example.backend.dto.token;
+
+import lombok.Builder;
+import lombok.Value;
+import org.example.backend.enums.TokenType;
+import org.example.backend.enums.UserRole;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Value
+@Builder
+public class ParsedTokenDTO {
+
+    String token;
+    String subject;
+    UUID userId;
+    UserRole role;
+    TokenType tokenType;
+    Instant expiresAt;
+
+    public boolean isExpired() {
+        return !expiresAt.isAfter(Instant.now());
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.backend.dto.token;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenRequestDTO {
+
+    @NotBlank(message = "Refresh token can't be empty")
+    private String refreshToken;
+}
@@ -0,0 +1,17 @@
+package org.example.backend.dto.token;
+
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Value
+public class TokenExpiryDTO {
+
+    UUID id;
+    String tokenHash;
+    String username;
+    Instant expiresAt;
+    boolean expired;
+    boolean revoked;
+}
@@ -0,0 +1,19 @@
+package org.example.backend.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserResponseDTO {
+
+    private int created;
+    private int failed;
+    private List<BulkUserResultDTO> results;
+}
@@ -0,0 +1,22 @@
+package org.example.backend.dto.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.enums.BulkUserStatus;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUserResultDTO {
+
+    private long row;
+    private String username;
+    private BulkUserStatus status;
+    private String message;
+    private UUID id;
+}
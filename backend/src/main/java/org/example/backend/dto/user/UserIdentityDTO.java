@@ -0,0 +1,10 @@
+package org.example.backend.dto.user;
+
+import lombok.Value;
+
+@Value
+public class UserIdentityDTO {
+
+    String username;
+    String email;
+}
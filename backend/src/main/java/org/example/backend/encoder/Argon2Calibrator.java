@@ -0,0 +1,45 @@
+package org.example.backend.encoder;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class Argon2Calibrator {
+
+    private static final int SAMPLES = 3;
+
+    // Halves memory until the minimum iteration count fits the target, then spends the remaining budget on iterations.
+    // The minimums are a floor: a slow machine gets a slower hash, never a cheaper one.
+    public static CalibratedArgon2PasswordEncoder calibrate(int minMemoryKib, int minIterations,
+                                                            int maxMemoryKib, int maxIterations, long targetMillis) {
+        int memoryKib = Math.max(minMemoryKib, maxMemoryKib);
+        long perIteration = measureMillis(memoryKib);
+
+        while (perIteration * minIterations > targetMillis && memoryKib / 2 >= minMemoryKib) {
+            memoryKib /= 2;
+            perIteration = measureMillis(memoryKib);
+        }
+
+        int iterations = (int) Math.max(minIterations, Math.min(maxIterations, targetMillis / Math.max(1, perIteration)));
+        log.info("Argon2 calibrated to m={} KiB, t={} (~{} ms per hash, target {} ms); pin them with "
+                        + "app.security.argon2.memory-kib={} and app.security.argon2.iterations={}",
+                memoryKib, iterations, perIteration * iterations, targetMillis, memoryKib, iterations);
+        return new CalibratedArgon2PasswordEncoder(memoryKib, iterations);
+    }
+
+    private static long measureMillis(int memoryKib) {
+        Argon2PasswordEncoder encoder = new Argon2PasswordEncoder(CalibratedArgon2PasswordEncoder.SALT_LENGTH,
+                CalibratedArgon2PasswordEncoder.HASH_LENGTH, CalibratedArgon2PasswordEncoder.PARALLELISM, memoryKib, 1);
+        encoder.encode("calibration");
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration");
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return Math.max(1, TimeUnit.NANOSECONDS.toMillis(best));
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.backend.encoder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.backend.exception.ServiceUnavailableException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs memory-hard hashing on a fixed pool so a login storm queues instead of allocating per request thread.
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final String REJECTED_MESSAGE = "Server is busy, please try again later";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int concurrency, int queueCapacity,
+                                  long maxWaitMillis, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.maxWaitMillis = maxWaitMillis;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.hashTimer = Timer.builder("password.hash").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hash.rejected").register(meterRegistry);
+        Gauge.builder("password.hash.queue", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        Gauge.builder("password.hash.concurrency", executor, ThreadPoolExecutor::getMaximumPoolSize).register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    // Batch hashing keeps at most one task per worker in flight, so the queue stays free for interactive logins.
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        Semaphore inFlight = new Semaphore(executor.getMaximumPoolSize());
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        try {
+            for (CharSequence rawPassword : rawPasswords) {
+                inFlight.acquire();
+                try {
+                    futures.add(enqueue(() -> {
+                        try {
+                            return delegate.encode(rawPassword);
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                } catch (ServiceUnavailableException e) {
+                    inFlight.release();
+                    throw e;
+                }
+            }
+
+            List<String> encodedPasswords = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                encodedPasswords.add(await(future));
+            }
+            return encodedPasswords;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(REJECTED_MESSAGE);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private <T> T submit(Callable<T> task) {
+        return await(enqueue(task));
+    }
+
+    private <T> Future<T> enqueue(Callable<T> task) {
+        try {
+            return executor.submit(() -> hashTimer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException(REJECTED_MESSAGE);
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException(REJECTED_MESSAGE);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException(REJECTED_MESSAGE);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
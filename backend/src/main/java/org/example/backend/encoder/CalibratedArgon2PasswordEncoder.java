@@ -0,0 +1,55 @@
+package org.example.backend.encoder;
+
+import lombok.Getter;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+@Getter
+public class CalibratedArgon2PasswordEncoder extends Argon2PasswordEncoder {
+
+    static final int SALT_LENGTH = 16;
+    static final int HASH_LENGTH = 32;
+    static final int PARALLELISM = 1;
+
+    private final int memoryKib;
+    private final int iterations;
+
+    public CalibratedArgon2PasswordEncoder(int memoryKib, int iterations) {
+        super(SALT_LENGTH, HASH_LENGTH, PARALLELISM, memoryKib, iterations);
+        this.memoryKib = memoryKib;
+        this.iterations = iterations;
+    }
+
+    // Only a hash cheaper than the current m*t is rehashed. Nodes that settle on different parameters
+    // then never rehash each other's hashes back and forth.
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+
+        for (String part : encodedPassword.split("\\$")) {
+            if (part.startsWith("m=")) {
+                long storedCost = cost(part);
+                return storedCost > 0 && storedCost < (long) memoryKib * iterations;
+            }
+        }
+        return false;
+    }
+
+    private static long cost(String parameters) {
+        long memory = 0;
+        long time = 0;
+        for (String parameter : parameters.split(",")) {
+            try {
+                if (parameter.startsWith("m=")) {
+                    memory = Long.parseLong(parameter.substring(2));
+                } else if (parameter.startsWith("t=")) {
+                    time = Long.parseLong(parameter.substring(2));
+                }
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }
+        return memory * time;
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.backend.enums;
+
+public enum BulkUserStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID,
+    FAILED
+}
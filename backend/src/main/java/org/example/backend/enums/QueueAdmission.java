@@ -0,0 +1,8 @@
+package org.example.backend.enums;
+
+public enum QueueAdmission {
+    ACCEPTED,
+    QUEUE_FULL,
+    KEY_CAPPED,
+    OWNER_CAPPED
+}
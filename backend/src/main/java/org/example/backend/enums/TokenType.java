@@ -1,5 +1,6 @@
 package org.example.backend.enums;
 
 public enum TokenType {
-    BEARER
+    BEARER,
+    REFRESH
 }
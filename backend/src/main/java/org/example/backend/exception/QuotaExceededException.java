@@ -0,0 +1,7 @@
+package org.example.backend.exception;
+
+public class QuotaExceededException extends ServiceUnavailableException {
+    public QuotaExceededException(String message) {
+        super(message);
+    }
+}
@@ -1,7 +1,9 @@
 package org.example.backend.exception.handler;
 
+import org.example.backend.exception.BadRequestException;
 import org.example.backend.exception.NotFoundException;
 import org.example.backend.exception.AlreadyExistsException;
+import org.example.backend.exception.ServiceUnavailableException;
 import org.example.backend.exception.UserAlreadyLoggedInException;
 import org.example.backend.exception.UserNotAuthenticatedException;
 import org.springframework.http.HttpStatus;
@@ -31,4 +33,14 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorDetails> exceptionUserNotAuthenticatedHandler(UserNotAuthenticatedException ex) {
         return new ResponseEntity<>(new ErrorDetails(ex.getMessage()), HttpStatus.UNAUTHORIZED);
     }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ErrorDetails> exceptionBadRequestHandler(BadRequestException ex) {
+        return new ResponseEntity<>(new ErrorDetails(ex.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorDetails> exceptionServiceUnavailableHandler(ServiceUnavailableException ex) {
+        return new ResponseEntity<>(new ErrorDetails(ex.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+    }
 }
@@ -1,17 +1,18 @@
 package org.example.backend.filter;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.example.backend.repository.TokenRepository;
+import org.example.backend.dto.token.ParsedTokenDTO;
+import org.example.backend.enums.TokenType;
 import org.example.backend.service.JwtService;
+import org.example.backend.userDetails.JwtUserPrincipal;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -23,8 +24,6 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
-    private final TokenRepository tokenRepository;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
@@ -34,6 +33,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         String path = request.getServletPath();
         if (path.startsWith("/api/v1/auth/login") ||
                 path.startsWith("/api/v1/auth/register") ||
+                path.startsWith("/api/v1/auth/refresh") ||
                 path.startsWith("/api/v1/auth/logout")) {
             filterChain.doFilter(request, response);
             return;
@@ -45,23 +45,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        String jwt = authHeader.substring(7);
-        String username = jwtService.extractUsername(jwt);
-
-        if (username == null || SecurityContextHolder.getContext().getAuthentication() != null) {
+        ParsedTokenDTO parsedToken;
+        try {
+            parsedToken = jwtService.parseToken(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-        boolean isTokenValid = tokenRepository.findByToken(jwt)
-                .map(t -> !t.isExpired() && !t.isRevoked())
-                .orElse(false);
+        // Access tokens are verified by signature and expiry alone; refresh tokens are only accepted by /refresh.
+        if (parsedToken.getTokenType() != TokenType.BEARER || parsedToken.getSubject() == null
+                || parsedToken.getUserId() == null || parsedToken.getRole() == null
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-        if (jwtService.isTokenValid(jwt, userDetails) && isTokenValid) {
+        JwtUserPrincipal principal = JwtUserPrincipal.from(parsedToken);
+        if (jwtService.isTokenValid(parsedToken, principal)) {
             UsernamePasswordAuthenticationToken authToken =
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
             authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             SecurityContextHolder.getContext().setAuthentication(authToken);
         }
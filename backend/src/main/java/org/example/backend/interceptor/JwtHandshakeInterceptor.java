@@ -2,6 +2,8 @@ package org.example.backend.interceptor;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.backend.dto.token.ParsedTokenDTO;
+import org.example.backend.enums.TokenType;
 import org.example.backend.service.JwtService;
 import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.http.server.ServerHttpResponse;
@@ -27,7 +29,11 @@ public class JwtHandshakeInterceptor implements HandshakeInterceptor {
         if (authHeaders != null && !authHeaders.isEmpty()) {
             String token = authHeaders.get(0).replace("Bearer ", "");
             try {
-                String username = jwtService.extractUsername(token);
+                ParsedTokenDTO parsedToken = jwtService.parseToken(token);
+                if (parsedToken.getTokenType() != TokenType.BEARER) {
+                    return false;
+                }
+                String username = parsedToken.getSubject();
                 attributes.put("user", (Principal) () -> username);
                 return true;
             } catch (Exception e) {
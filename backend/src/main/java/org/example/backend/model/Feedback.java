@@ -7,7 +7,11 @@ import org.example.backend.enums.SentimentType;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
-@Table(name = "feedback")
+@Table(name = "feedback", indexes = {
+        @Index(name = "idx_feedback_sentiment_type", columnList = "sentiment_type, id"),
+        @Index(name = "idx_feedback_event_id", columnList = "event_id, id"),
+        @Index(name = "idx_feedback_provisional", columnList = "sentiment_provisional, id")
+})
 @Entity
 @Getter
 @Setter
@@ -19,7 +23,7 @@ import java.util.UUID;
 public class Feedback {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @AssignableUuid
     private UUID id;
 
     @Column(name = "creation_date", nullable = false, updatable = false)
@@ -31,16 +35,22 @@ public class Feedback {
     @Enumerated(EnumType.STRING)
     private SentimentType sentimentType;
 
-    @ManyToOne
+    @Builder.Default
+    @Column(name = "sentiment_provisional", nullable = false)
+    private boolean sentimentProvisional = false;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id")
     private Event event;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
     @PrePersist
     public void prePersist() {
-        this.createdAt = LocalDateTime.now();
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
     }
 }
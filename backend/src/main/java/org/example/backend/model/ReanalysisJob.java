@@ -0,0 +1,55 @@
+package org.example.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.backend.enums.ReanalysisStatus;
+
+import java.time.Instant;
+import java.util.UUID;
+
+// lastFeedbackId is the keyset checkpoint: every feedback up to it has been rescored and written.
+@Entity
+@Table(name = "reanalysis_jobs")
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReanalysisJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    // Null means every event.
+    @Column(name = "event_id")
+    private UUID eventId;
+
+    @Column(name = "status", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private ReanalysisStatus status;
+
+    // Admin who started or last resumed the job; progress is sent only to them.
+    @Column(name = "requested_by")
+    private String requestedBy;
+
+    @Column(name = "last_feedback_id")
+    private UUID lastFeedbackId;
+
+    @Column(name = "processed_count", nullable = false)
+    private long processedCount;
+
+    @Column(name = "updated_count", nullable = false)
+    private long updatedCount;
+
+    @Column(name = "failed_count", nullable = false)
+    private long failedCount;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+}
@@ -7,10 +7,14 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.example.backend.enums.TokenType;
 
+import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "tokens")
+@Table(name = "tokens", indexes = {
+        @Index(name = "idx_tokens_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_tokens_user_state", columnList = "user_id, is_expired, is_revoked")
+})
 @Data
 @Builder
 @NoArgsConstructor
@@ -21,20 +25,23 @@ public class Token {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @Column(unique = true, length = 1024)
-    private String token;
+    @Column(name = "token_hash", unique = true, length = 64)
+    private String tokenHash;
 
     @Column(name = "token_type")
     @Enumerated(EnumType.STRING)
     private TokenType tokenType;
 
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+
     @Column(name = "is_expired")
     private boolean expired;
 
     @Column(name = "is_revoked")
     private boolean revoked;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 }
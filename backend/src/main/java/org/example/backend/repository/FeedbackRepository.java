@@ -1,9 +1,14 @@
 package org.example.backend.repository;
 
+import org.example.backend.dto.sentiment.FeedbackContentDTO;
 import org.example.backend.enums.SentimentType;
 import org.example.backend.model.Event;
 import org.example.backend.model.Feedback;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +20,51 @@ public interface FeedbackRepository extends JpaRepository<Feedback, UUID> {
     Long countByEventAndSentimentType(Event event, SentimentType sentimentType);
     Long countByEvent(Event event);
     List<Feedback> findAllByEventOrderByCreatedAtDesc(Event event);
+
+    @Query("""
+            select f from Feedback f
+            where f.sentimentType = :sentimentType and f.id > :lastId
+            order by f.id
+            """)
+    List<Feedback> findBySentimentTypeAfter(@Param("sentimentType") SentimentType sentimentType,
+                                            @Param("lastId") UUID lastId,
+                                            Pageable pageable);
+
+    @Query("""
+            select f from Feedback f
+            where f.sentimentProvisional = true and f.id > :lastId
+            order by f.id
+            """)
+    List<Feedback> findProvisionalAfter(@Param("lastId") UUID lastId, Pageable pageable);
+
+    // Only id and content are read, so re-analysis pages never load the entity graph.
+    @Query("""
+            select new org.example.backend.dto.sentiment.FeedbackContentDTO(f.id, f.content) from Feedback f
+            where f.sentimentType <> :excluded and f.id > :lastId
+            order by f.id
+            """)
+    List<FeedbackContentDTO> findContentAfter(@Param("excluded") SentimentType excluded,
+                                              @Param("lastId") UUID lastId,
+                                              Pageable pageable);
+
+    @Query("""
+            select new org.example.backend.dto.sentiment.FeedbackContentDTO(f.id, f.content) from Feedback f
+            where f.event.id = :eventId and f.sentimentType <> :excluded and f.id > :lastId
+            order by f.id
+            """)
+    List<FeedbackContentDTO> findContentByEventAfter(@Param("eventId") UUID eventId,
+                                                     @Param("excluded") SentimentType excluded,
+                                                     @Param("lastId") UUID lastId,
+                                                     Pageable pageable);
+
+    // Writes only the sentiment columns, so concurrent changes to the rest of the row are left alone. Rows that
+    // already hold this result are skipped, so the count is what actually changed.
+    @Modifying
+    @Query("""
+            update Feedback f set f.sentimentType = :sentimentType, f.sentimentProvisional = :provisional
+            where f.id in :ids and (f.sentimentType <> :sentimentType or f.sentimentProvisional <> :provisional)
+            """)
+    int updateSentiment(@Param("ids") List<UUID> ids,
+                        @Param("sentimentType") SentimentType sentimentType,
+                        @Param("provisional") boolean provisional);
 }
@@ -0,0 +1,16 @@
+package org.example.backend.repository;
+
+import org.example.backend.enums.ReanalysisStatus;
+import org.example.backend.model.ReanalysisJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ReanalysisJobRepository extends JpaRepository<ReanalysisJob, UUID> {
+
+    boolean existsByStatus(ReanalysisStatus status);
+    List<ReanalysisJob> findAllByStatus(ReanalysisStatus status);
+}
@@ -1,9 +1,16 @@
 package org.example.backend.repository;
 
+import org.example.backend.dto.token.TokenExpiryDTO;
 import org.example.backend.model.Token;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,7 +18,35 @@ import java.util.UUID;
 @Repository
 public interface TokenRepository extends JpaRepository<Token, UUID> {
 
-    List<Token> findAllByUserIdAndExpiredIsFalseAndRevokedIsFalse(UUID userId);
-    Optional<Token> findByToken(String token);
-    List<Token> findAllByUserId(UUID userId);
+    Optional<Token> findByTokenHash(String tokenHash);
+
+    @Modifying
+    @Transactional
+    @Query("delete from Token t where t.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") UUID userId);
+
+    @Query("""
+            select new org.example.backend.dto.token.TokenExpiryDTO(t.id, t.tokenHash, u.username, t.expiresAt, t.expired, t.revoked)
+            from Token t join t.user u
+            where t.expiresAt < :now or t.expiresAt is null
+            """)
+    List<TokenExpiryDTO> findExpiredTokens(@Param("now") Instant now, Pageable pageable);
+
+    @Query("""
+            select new org.example.backend.dto.token.TokenExpiryDTO(t.id, t.tokenHash, u.username, t.expiresAt, t.expired, t.revoked)
+            from Token t join t.user u
+            where t.id > :lastId and t.expiresAt is not null and t.expired = false and t.revoked = false
+            order by t.id
+            """)
+    List<TokenExpiryDTO> findActiveTokensAfter(@Param("lastId") UUID lastId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("delete from Token t where t.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+
+    @Modifying
+    @Transactional
+    @Query("delete from Token t where t.tokenHash = :tokenHash and t.expired = false and t.revoked = false")
+    int deleteActiveByTokenHash(@Param("tokenHash") String tokenHash);
 }
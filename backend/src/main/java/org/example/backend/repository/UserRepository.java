@@ -1,9 +1,18 @@
 package org.example.backend.repository;
 
+import org.example.backend.dto.login.LoginUserDTO;
+import org.example.backend.dto.user.UserIdentityDTO;
 import org.example.backend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -13,4 +22,28 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findUserByUsername(String username);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Query("""
+            select new org.example.backend.dto.user.UserIdentityDTO(u.username, u.email)
+            from User u
+            where u.username in :usernames or u.email in :emails
+            """)
+    List<UserIdentityDTO> findIdentities(@Param("usernames") Collection<String> usernames,
+                                         @Param("emails") Collection<String> emails);
+
+    @Query("""
+            select new org.example.backend.dto.login.LoginUserDTO(u,
+                case when exists (
+                    select 1 from Token t
+                    where t.user = u and t.expired = false and t.revoked = false and t.expiresAt > :now
+                ) then true else false end)
+            from User u
+            where u.username = :username
+            """)
+    Optional<LoginUserDTO> findLoginUserByUsername(@Param("username") String username, @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePasswordByUsername(@Param("username") String username, @Param("password") String password);
 }
@@ -0,0 +1,84 @@
+package org.example.backend.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.backend.enums.CircuitState;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+// Opens after consecutive failures, fast-fails for the open duration, then lets a single trial call through.
+public class CircuitBreaker {
+
+    private final String name;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+    private final Counter rejectedCounter;
+
+    private CircuitState state = CircuitState.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt = Instant.MIN;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration, Clock clock, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration;
+        this.clock = clock;
+
+        this.rejectedCounter = Counter.builder("circuit.rejected").tag("name", name).register(meterRegistry);
+        for (CircuitState circuitState : CircuitState.values()) {
+            Gauge.builder("circuit.state", this, breaker -> breaker.getState() == circuitState ? 1 : 0)
+                    .tag("name", name)
+                    .tag("state", circuitState.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == CircuitState.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+            state = CircuitState.HALF_OPEN;
+        }
+        if (state == CircuitState.CLOSED) {
+            return true;
+        }
+        if (state == CircuitState.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return true;
+        }
+
+        rejectedCounter.increment();
+        return false;
+    }
+
+    public synchronized void onSuccess() {
+        state = CircuitState.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == CircuitState.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = CircuitState.OPEN;
+            openedAt = clock.instant();
+        }
+        trialInFlight = false;
+    }
+
+    // For outcomes that say nothing about upstream health; only frees a half-open trial.
+    public synchronized void onIgnored() {
+        trialInFlight = false;
+    }
+
+    public synchronized CircuitState getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.backend.resilience;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Ranks endpoints by EWMA latency scaled by outstanding requests, so slow or busy endpoints get less traffic.
+public class EndpointBalancer {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double INITIAL_LATENCY_MILLIS = 100;
+
+    private final List<Endpoint> endpoints;
+
+    public EndpointBalancer(List<String> urls, MeterRegistry meterRegistry) {
+        if (urls.isEmpty()) {
+            throw new IllegalArgumentException("At least one endpoint is required");
+        }
+        this.endpoints = urls.stream()
+                .map(String::strip)
+                .map(Endpoint::new)
+                .toList();
+
+        for (Endpoint endpoint : endpoints) {
+            Gauge.builder("ai.endpoint.outstanding", endpoint, Endpoint::getOutstanding)
+                    .tag("endpoint", endpoint.getUrl())
+                    .register(meterRegistry);
+            Gauge.builder("ai.endpoint.latency.ewma", endpoint, Endpoint::getLatencyMillis)
+                    .tag("endpoint", endpoint.getUrl())
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    // Scores are snapshotted before sorting because concurrent calls keep changing them.
+    public List<Endpoint> ranked() {
+        record Ranked(Endpoint endpoint, double score) {
+        }
+        return endpoints.stream()
+                .map(endpoint -> new Ranked(endpoint, endpoint.score()))
+                .sorted(Comparator.comparingDouble(Ranked::score))
+                .map(Ranked::endpoint)
+                .toList();
+    }
+
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public static class Endpoint {
+
+        private final String url;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private double latencyMillis = INITIAL_LATENCY_MILLIS;
+        private double deviationMillis = INITIAL_LATENCY_MILLIS / 2;
+
+        Endpoint(String url) {
+            this.url = url;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public int getOutstanding() {
+            return outstanding.get();
+        }
+
+        public synchronized double getLatencyMillis() {
+            return latencyMillis;
+        }
+
+        public void start() {
+            outstanding.incrementAndGet();
+        }
+
+        public void release() {
+            outstanding.decrementAndGet();
+        }
+
+        // Calls that got no answer are recorded with a penalty latency so a dead endpoint sinks in the ranking.
+        public synchronized void record(Duration latency) {
+            double sample = latency.toNanos() / 1_000_000.0;
+            deviationMillis += SMOOTHING * (Math.abs(sample - latencyMillis) - deviationMillis);
+            latencyMillis += SMOOTHING * (sample - latencyMillis);
+        }
+
+        // Mean plus two mean deviations, a cheap stand-in for the endpoint's p95.
+        public synchronized Duration p95Estimate() {
+            return Duration.ofNanos((long) ((latencyMillis + 2 * deviationMillis) * 1_000_000));
+        }
+
+        synchronized double score() {
+            return latencyMillis * (outstanding.get() + 1);
+        }
+    }
+}
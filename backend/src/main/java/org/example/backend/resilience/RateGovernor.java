@@ -0,0 +1,100 @@
+package org.example.backend.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+// Token bucket sized from the provider quota. Callers reserve a slot and wait for it; a 429 halves the rate and
+// pauses everyone for Retry-After, then each success wins back a little of the configured rate.
+public class RateGovernor {
+
+    private static final double MIN_RATE_FRACTION = 0.1;
+    private static final double RECOVERY_FRACTION = 0.05;
+
+    private final double maxRate;
+    private final int burst;
+    private final Duration maxWait;
+    private final Duration defaultPause;
+    private final Clock clock;
+    private final Counter allowedCounter;
+    private final Counter delayedCounter;
+    private final Counter rejectedCounter;
+
+    private double rate;
+    // Generic cell rate bookkeeping: the time the bucket would be empty again if nobody else asked.
+    private Instant theoreticalArrival;
+    private Instant pausedUntil = Instant.EPOCH;
+
+    public RateGovernor(String name, double requestsPerSecond, int burst, Duration maxWait, Duration defaultPause,
+                        Clock clock, MeterRegistry meterRegistry) {
+        if (requestsPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        this.maxRate = requestsPerSecond;
+        this.rate = requestsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.maxWait = maxWait;
+        this.defaultPause = defaultPause;
+        this.clock = clock;
+        this.theoreticalArrival = clock.instant();
+
+        this.allowedCounter = Counter.builder("quota.allowed").tag("name", name).register(meterRegistry);
+        this.delayedCounter = Counter.builder("quota.delayed").tag("name", name).register(meterRegistry);
+        this.rejectedCounter = Counter.builder("quota.rejected").tag("name", name).register(meterRegistry);
+        Gauge.builder("quota.rate", this, RateGovernor::getRate)
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    // Returns how long the caller has to wait for its slot, or empty when that is longer than the max wait.
+    public synchronized Optional<Duration> reserve() {
+        Instant now = clock.instant();
+        Duration interval = interval();
+        Instant earliest = latest(now, latest(pausedUntil, theoreticalArrival.minus(interval.multipliedBy(burst - 1))));
+        Duration wait = Duration.between(now, earliest);
+
+        if (wait.compareTo(maxWait) > 0) {
+            rejectedCounter.increment();
+            return Optional.empty();
+        }
+
+        theoreticalArrival = latest(theoreticalArrival, earliest).plus(interval);
+        if (wait.isZero()) {
+            allowedCounter.increment();
+        } else {
+            delayedCounter.increment();
+        }
+        return Optional.of(wait);
+    }
+
+    public void onThrottled() {
+        onThrottled(defaultPause);
+    }
+
+    public synchronized void onThrottled(Duration retryAfter) {
+        rate = Math.max(maxRate * MIN_RATE_FRACTION, rate / 2);
+        Duration pause = retryAfter.isNegative() ? Duration.ZERO : retryAfter;
+        pausedUntil = latest(pausedUntil, clock.instant().plus(pause));
+    }
+
+    public synchronized void onSuccess() {
+        rate = Math.min(maxRate, rate + maxRate * RECOVERY_FRACTION);
+    }
+
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    private Duration interval() {
+        return Duration.ofNanos((long) (1_000_000_000 / rate));
+    }
+
+    private static Instant latest(Instant first, Instant second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
@@ -0,0 +1,185 @@
+package org.example.backend.scheduling;
+
+import org.example.backend.enums.QueueAdmission;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+// Bounded queue with one FIFO per key, drained by deficit round-robin: each turn adds the quantum to the key's deficit
+// and the key is served while its head costs no more than that, so keys share by cost rather than by item count and a
+// large key cannot starve the small ones. With unit costs and quantum this is plain round-robin.
+// Per-key and per-owner caps stop a single event or owner from filling the queue on its own.
+public class FairQueue<T> {
+
+    private static final UUID UNKEYED = new UUID(0, 0);
+
+    private final int capacity;
+    private final int perKeyCap;
+    private final int perOwnerCap;
+    private final int quantum;
+    private final ToIntFunction<T> cost;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Map<UUID, KeyQueue<T>> queues = new HashMap<>();
+    // Keys that have queued work, in the order they get their next turn; the first one may be mid-turn.
+    private final Deque<UUID> rotation = new ArrayDeque<>();
+    private final Map<UUID, Integer> queuedPerOwner = new HashMap<>();
+    private int size;
+    private long sequence;
+
+    public FairQueue(int capacity, int perOwnerCap) {
+        this(capacity, capacity, perOwnerCap);
+    }
+
+    public FairQueue(int capacity, int perKeyCap, int perOwnerCap) {
+        this(capacity, perKeyCap, perOwnerCap, 1, item -> 1);
+    }
+
+    public FairQueue(int capacity, int perKeyCap, int perOwnerCap, int quantum, ToIntFunction<T> cost) {
+        this.capacity = capacity;
+        this.perKeyCap = Math.max(1, perKeyCap);
+        this.perOwnerCap = Math.max(1, perOwnerCap);
+        this.quantum = Math.max(1, quantum);
+        this.cost = cost;
+    }
+
+    public QueueAdmission offer(UUID key, UUID owner, T item) {
+        lock.lock();
+        try {
+            if (size >= capacity) {
+                return QueueAdmission.QUEUE_FULL;
+            }
+            // Unkeyed items are not tied to an event, so they only share the global capacity.
+            KeyQueue<T> keyed = key != null ? queues.get(key) : null;
+            if (keyed != null && keyed.entries.size() >= perKeyCap) {
+                return QueueAdmission.KEY_CAPPED;
+            }
+            if (owner != null && queuedPerOwner.getOrDefault(owner, 0) >= perOwnerCap) {
+                return QueueAdmission.OWNER_CAPPED;
+            }
+
+            UUID queueKey = key != null ? key : UNKEYED;
+            queues.computeIfAbsent(queueKey, k -> {
+                rotation.addLast(k);
+                return new KeyQueue<>();
+            }).entries.addLast(new Entry<>(item, owner, Math.max(1, cost.applyAsInt(item)), sequence++));
+            if (owner != null) {
+                queuedPerOwner.merge(owner, 1, Integer::sum);
+            }
+            size++;
+            notEmpty.signal();
+            return QueueAdmission.ACCEPTED;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public T take() throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (size == 0) {
+                notEmpty.await();
+            }
+
+            // A key keeps the front of the rotation until its deficit no longer covers its head. Every pass adds the
+            // quantum to a key's deficit, so the loop ends.
+            Entry<T> entry;
+            while (true) {
+                UUID key = rotation.peekFirst();
+                KeyQueue<T> queue = queues.get(key);
+                if (!queue.inTurn) {
+                    queue.deficit += quantum;
+                    queue.inTurn = true;
+                }
+                Entry<T> head = queue.entries.peekFirst();
+                if (head.cost() <= queue.deficit) {
+                    entry = queue.entries.pollFirst();
+                    queue.deficit -= entry.cost();
+                    if (queue.entries.isEmpty()) {
+                        queues.remove(key);
+                        rotation.pollFirst();
+                    }
+                    break;
+                }
+                queue.inTurn = false;
+                rotation.addLast(rotation.pollFirst());
+            }
+            if (entry.owner() != null) {
+                queuedPerOwner.computeIfPresent(entry.owner(), (owner, count) -> count > 1 ? count - 1 : null);
+            }
+            size--;
+            return entry.item();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Heads are the oldest entry of each key, so the overall oldest is the head with the lowest sequence.
+    public Optional<T> oldest() {
+        lock.lock();
+        try {
+            return queues.values().stream()
+                    .map(queue -> queue.entries.peekFirst())
+                    .min(Comparator.comparingLong(Entry::sequence))
+                    .map(Entry::item);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int clear() {
+        lock.lock();
+        try {
+            int cleared = size;
+            queues.clear();
+            rotation.clear();
+            queuedPerOwner.clear();
+            size = 0;
+            return cleared;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isFull() {
+        return size() >= capacity;
+    }
+
+    public int activeKeys() {
+        lock.lock();
+        try {
+            return queues.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry<T>(T item, UUID owner, int cost, long sequence) {
+    }
+
+    // The deficit is dropped with the key once it runs empty, so an idle key cannot save up turns.
+    private static final class KeyQueue<T> {
+
+        private final Deque<Entry<T>> entries = new ArrayDeque<>();
+        private long deficit;
+        private boolean inTurn;
+    }
+}
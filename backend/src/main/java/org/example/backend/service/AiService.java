@@ -1,80 +1,398 @@
 package org.example.backend.service;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.example.backend.dto.sentiment.SentimentAiResponseDTO;
+import org.example.backend.analyzer.SentimentAnalyzer;
+import org.example.backend.analyzer.SentimentResponseParser;
 import org.example.backend.enums.SentimentType;
+import org.example.backend.exception.QuotaExceededException;
+import org.example.backend.exception.ServiceUnavailableException;
+import org.example.backend.resilience.CircuitBreaker;
+import org.example.backend.resilience.EndpointBalancer;
+import org.example.backend.resilience.RateGovernor;
+import org.example.backend.utils.HashUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
-import java.util.Comparator;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
 
+// Collects sentiment requests into micro-batches so one inference call serves many feedbacks.
 @Service
-@RequiredArgsConstructor
 @Slf4j
-public class AiService {
+public class AiService implements SentimentAnalyzer {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
 
     private final WebClient webClient;
+    private final SentimentResponseParser responseParser;
+    private final String apiKey;
+    private final EndpointBalancer balancer;
+    private final int maxBatchSize;
+    private final long lingerMillis;
+
+    private final List<PendingSentiment> pending = new ArrayList<>();
+    private final ScheduledThreadPoolExecutor scheduler;
+    private ScheduledFuture<?> lingerTimer;
+
+    // The sink takes one producer at a time; emits lock on it only for the hand-off, since batches are sent on another thread.
+    private final Sinks.Many<List<PendingSentiment>> batches = Sinks.many().unicast().onBackpressureBuffer();
+
+    // Concurrent lookups of the same text share one in-flight future; failed lookups are not cached.
+    private final AsyncCache<String, SentimentType> cache;
+
+    private final CircuitBreaker circuitBreaker;
+    private final RateGovernor rateGovernor;
+    private final Duration callTimeout;
+    private final Retry retry;
+    private final boolean hedgingEnabled;
+    private final Duration hedgeMinDelay;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer batchTimer;
+    private final Counter retryCounter;
+    private final Counter hedgedCounter;
+
+    public AiService(WebClient webClient,
+                     SentimentResponseParser responseParser,
+                     MeterRegistry meterRegistry,
+                     CircuitBreaker sentimentCircuitBreaker,
+                     RateGovernor sentimentRateGovernor,
+                     @Value("${api.key}") String apiKey,
+                     @Value("${api.url}") List<String> apiUrls,
+                     @Value("${app.ai.batch.max-size:16}") int maxBatchSize,
+                     @Value("${app.ai.batch.linger:20}") long lingerMillis,
+                     @Value("${app.ai.batch.max-concurrency:4}") int maxConcurrentBatches,
+                     @Value("${app.ai.cache.max-size:10000}") long cacheMaxSize,
+                     @Value("${app.ai.cache.ttl:86400000}") long cacheTtlMillis,
+                     @Value("${app.ai.timeout:5000}") long timeoutMillis,
+                     @Value("${app.ai.retry.max-attempts:2}") int maxRetries,
+                     @Value("${app.ai.retry.initial-backoff:200}") long initialBackoffMillis,
+                     @Value("${app.ai.retry.max-backoff:2000}") long maxBackoffMillis,
+                     @Value("${app.ai.hedge.enabled:false}") boolean hedgingEnabled,
+                     @Value("${app.ai.hedge.min-delay:50}") long hedgeMinDelayMillis) {
+        this.webClient = webClient;
+        this.responseParser = responseParser;
+        this.apiKey = apiKey;
+        this.balancer = new EndpointBalancer(apiUrls, meterRegistry);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.lingerMillis = lingerMillis;
+        this.circuitBreaker = sentimentCircuitBreaker;
+        this.rateGovernor = sentimentRateGovernor;
+        this.callTimeout = Duration.ofMillis(timeoutMillis);
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgeMinDelay = Duration.ofMillis(hedgeMinDelayMillis);
+
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "sentiment-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMillis))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "ai.sentiment");
+        Gauge.builder("ai.sentiment.cache.hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+                .register(meterRegistry);
 
-    @Value("${api.key}")
-    private String apiKey;
+        this.batchSizeSummary = DistributionSummary.builder("ai.sentiment.batch.size")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("ai.sentiment.batch.latency")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("ai.sentiment.retries").register(meterRegistry);
+        this.hedgedCounter = Counter.builder("ai.sentiment.hedged").register(meterRegistry);
 
-    @Value("${api.url}")
-    private String apiUrl;
+        this.retry = Retry.backoff(maxRetries, Duration.ofMillis(initialBackoffMillis))
+                .maxBackoff(Duration.ofMillis(maxBackoffMillis))
+                .jitter(0.5)
+                .filter(AiService::isRetryable)
+                .doBeforeRetry(signal -> retryCounter.increment())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
 
-    @Async
+        batches.asFlux()
+                .flatMap(batch -> Mono.defer(() -> send(batch)).subscribeOn(Schedulers.boundedElastic()),
+                        Math.max(1, maxConcurrentBatches))
+                .subscribe();
+    }
+
+    // Failures propagate so the caller can fall back to a local analyzer instead of recording NEUTRAL.
+    @Override
     public CompletableFuture<SentimentType> analyzeSentiment(String text) {
-        try {
-            String response = webClient.post()
-                    .uri(apiUrl)
+        return cache.get(contentKey(text), (key, executor) -> infer(text));
+    }
+
+    // Skips the cache lookup so a model change is picked up, and replaces the cached answer with the fresh one.
+    public CompletableFuture<SentimentType> reanalyzeSentiment(String text) {
+        CompletableFuture<SentimentType> result = infer(text);
+        cache.put(contentKey(text), result);
+        return result;
+    }
+
+    static String contentKey(String text) {
+        String normalized = Normalizer.normalize(text == null ? "" : text, Normalizer.Form.NFKC)
+                .strip()
+                .transform(value -> WHITESPACE.matcher(value).replaceAll(" "))
+                .toLowerCase(Locale.ROOT);
+        return HashUtils.sha256Hex(normalized);
+    }
+
+    private CompletableFuture<SentimentType> infer(String text) {
+        CompletableFuture<SentimentType> result = new CompletableFuture<>();
+        List<PendingSentiment> batch = List.of();
+
+        synchronized (pending) {
+            pending.add(new PendingSentiment(text, result));
+            if (pending.size() >= maxBatchSize) {
+                batch = drain();
+            } else if (pending.size() == 1) {
+                lingerTimer = scheduler.schedule(this::flush, lingerMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        emit(batch);
+        return result;
+    }
+
+    void flush() {
+        List<PendingSentiment> batch;
+        synchronized (pending) {
+            batch = drain();
+        }
+        emit(batch);
+    }
+
+    private List<PendingSentiment> drain() {
+        if (lingerTimer != null) {
+            lingerTimer.cancel(false);
+            lingerTimer = null;
+        }
+        List<PendingSentiment> batch = List.copyOf(pending);
+        pending.clear();
+        return batch;
+    }
+
+    // Runs outside the pending lock, so failing a batch never calls back into a caller that holds it.
+    private void emit(List<PendingSentiment> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Sinks.EmitResult emitted;
+        synchronized (batches) {
+            emitted = batches.tryEmitNext(batch);
+        }
+        if (emitted.isFailure()) {
+            fail(batch, new ServiceUnavailableException("Sentiment service is unavailable"));
+        }
+    }
+
+    private Mono<Void> send(List<PendingSentiment> batch) {
+        if (!circuitBreaker.tryAcquire()) {
+            fail(batch, new ServiceUnavailableException("Sentiment service is unavailable"));
+            return Mono.empty();
+        }
+
+        batchSizeSummary.record(batch.size());
+        Timer.Sample sample = Timer.start();
+        List<String> inputs = batch.stream().map(PendingSentiment::text).toList();
+
+        return Mono.defer(() -> route(inputs))
+                .retryWhen(retry)
+                .doOnSuccess(response -> circuitBreaker.onSuccess())
+                .doOnError(this::recordFailure)
+                .map(this::parseSentiments)
+                .defaultIfEmpty(List.of())
+                .doOnNext(sentiments -> complete(batch, sentiments))
+                .onErrorResume(e -> {
+                    log.error("AI sentiment call failed: {}", e.getMessage());
+                    fail(batch, e);
+                    return Mono.empty();
+                })
+                .doFinally(signal -> sample.stop(batchTimer))
+                .then();
+    }
+
+    // Every attempt re-ranks the endpoints, so a retry moves away from the one that just failed.
+    private Mono<byte[]> route(List<String> inputs) {
+        List<EndpointBalancer.Endpoint> ranked = balancer.ranked();
+        EndpointBalancer.Endpoint primary = ranked.getFirst();
+        if (!hedgingEnabled || ranked.size() < 2) {
+            return call(primary, inputs);
+        }
+
+        EndpointBalancer.Endpoint secondary = ranked.get(1);
+        Duration hedgeDelay = primary.p95Estimate().compareTo(hedgeMinDelay) > 0 ? primary.p95Estimate() : hedgeMinDelay;
+        Mono<byte[]> hedge = Mono.delay(hedgeDelay)
+                .then(Mono.defer(() -> {
+                    hedgedCounter.increment();
+                    return call(secondary, inputs);
+                }));
+
+        return Mono.firstWithValue(call(primary, inputs), hedge)
+                .onErrorMap(NoSuchElementException.class, e -> Exceptions.unwrapMultiple(e.getCause()).getFirst());
+    }
+
+    // Quota is taken per attempt, before the call timeout starts, so waiting for a slot never counts as a slow endpoint.
+    private Mono<byte[]> call(EndpointBalancer.Endpoint endpoint, List<String> inputs) {
+        return acquireQuota().then(Mono.defer(() -> {
+            endpoint.start();
+            long start = System.nanoTime();
+
+            return webClient.post()
+                    .uri(endpoint.getUrl())
                     .header(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
                     .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
                     .accept(MediaType.APPLICATION_JSON)
-                    .bodyValue(Map.of("inputs", text))
+                    .bodyValue(Map.of("inputs", inputs))
                     .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
+                    .bodyToMono(byte[].class)
+                    .timeout(callTimeout)
+                    .doOnSuccess(response -> {
+                        endpoint.record(Duration.ofNanos(System.nanoTime() - start));
+                        rateGovernor.onSuccess();
+                    })
+                    .doOnError(e -> {
+                        endpoint.record(isUnresponsive(e) ? callTimeout : Duration.ofNanos(System.nanoTime() - start));
+                        if (isThrottled(e)) {
+                            throttle((WebClientResponseException) e);
+                        }
+                    })
+                    .doFinally(signal -> endpoint.release());
+        }));
+    }
+
+    private Mono<Void> acquireQuota() {
+        return Mono.defer(() -> rateGovernor.reserve()
+                .map(wait -> wait.isZero() ? Mono.<Void>empty() : Mono.delay(wait).then())
+                .orElseGet(() -> Mono.error(new QuotaExceededException("Sentiment quota exhausted"))));
+    }
+
+    private void throttle(WebClientResponseException e) {
+        String retryAfter = e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null) {
+            rateGovernor.onThrottled();
+            return;
+        }
+        try {
+            rateGovernor.onThrottled(Duration.ofSeconds(Long.parseLong(retryAfter.strip())));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                ZonedDateTime retryAt = ZonedDateTime.parse(retryAfter.strip(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                rateGovernor.onThrottled(Duration.between(Instant.now(), retryAt));
+            } catch (DateTimeParseException notDate) {
+                rateGovernor.onThrottled();
+            }
+        }
+    }
 
-            log.info("Raw API response: {}", response);
+    private static boolean isThrottled(Throwable e) {
+        return e instanceof WebClientResponseException responseException
+                && responseException.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    // An endpoint that never answered is charged the full timeout; one that answered with an error took what it took.
+    private static boolean isUnresponsive(Throwable e) {
+        return e instanceof TimeoutException
+                || e instanceof WebClientRequestException && e.getCause() instanceof ConnectException;
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError() || isThrottled(responseException);
+        }
+        return e instanceof WebClientRequestException;
+    }
+
+    // A rejected request proves the upstream is reachable, so only overload and transport errors trip the breaker.
+    // Throttling is the governor's business and does not count either way.
+    private void recordFailure(Throwable e) {
+        if (isThrottled(e) || e instanceof QuotaExceededException) {
+            circuitBreaker.onIgnored();
+        } else if (e instanceof WebClientResponseException responseException && !isRetryable(responseException)) {
+            circuitBreaker.onSuccess();
+        } else {
+            circuitBreaker.onFailure();
+        }
+    }
 
-            return CompletableFuture.completedFuture(parseSentiment(response));
-        } catch (WebClientResponseException e) {
-            log.error("AI sentiment call failed: {}", e.getMessage());
-            return CompletableFuture.completedFuture(SentimentType.NEUTRAL);
+    // Items the response does not cover fail, so the cache drops them.
+    private void complete(List<PendingSentiment> batch, List<SentimentType> sentiments) {
+        for (int i = 0; i < batch.size(); i++) {
+            if (i < sentiments.size()) {
+                batch.get(i).result().complete(sentiments.get(i));
+            } else {
+                batch.get(i).result().completeExceptionally(new IllegalStateException("No sentiment returned"));
+            }
         }
     }
 
-    private SentimentType parseSentiment(String response) {
+    private void fail(List<PendingSentiment> batch, Throwable e) {
+        batch.forEach(item -> item.result().completeExceptionally(e));
+    }
+
+    // The body stays as bytes so Jackson can stream it without an intermediate String.
+    private List<SentimentType> parseSentiments(byte[] response) {
+        if (log.isDebugEnabled()) {
+            log.debug("Raw API response: {}", new String(response, StandardCharsets.UTF_8));
+        }
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            List<List<SentimentAiResponseDTO>> predictions = mapper.readValue(
-                    response, new TypeReference<>() {
-                    }
-            );
-
-            SentimentAiResponseDTO highestScoringPrediction = predictions.getFirst().stream()
-                    .max(Comparator.comparingDouble(SentimentAiResponseDTO::getScore))
-                    .orElseThrow();
-
-            return switch (highestScoringPrediction.getLabel().toLowerCase()) {
-                case "positive" -> SentimentType.POSITIVE;
-                case "negative" -> SentimentType.NEGATIVE;
-                default -> SentimentType.NEUTRAL;
-            };
-        } catch (JsonProcessingException e) {
+            return responseParser.parse(response);
+        } catch (IOException e) {
             log.error("Failed to parse sentiment: {}", e.getMessage());
-            return SentimentType.NEUTRAL;
+            return List.of();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        synchronized (batches) {
+            batches.tryEmitComplete();
         }
+        scheduler.shutdownNow();
+    }
+
+    private record PendingSentiment(String text, CompletableFuture<SentimentType> result) {
     }
-}
\ No newline at end of file
+}
@@ -1,62 +1,102 @@
 package org.example.backend.service;
 
-import jakarta.servlet.http.HttpServletRequest;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.example.backend.dto.login.LoginRequestDTO;
 import org.example.backend.dto.login.LoginResponseDTO;
+import org.example.backend.dto.login.LoginUserDTO;
+import org.example.backend.dto.token.ParsedTokenDTO;
+import org.example.backend.dto.token.RefreshTokenRequestDTO;
+import org.example.backend.enums.TokenType;
 import org.example.backend.exception.UserAlreadyLoggedInException;
+import org.example.backend.exception.UserNotAuthenticatedException;
 import org.example.backend.model.User;
-import org.example.backend.repository.TokenRepository;
 import org.example.backend.repository.UserRepository;
+import org.example.backend.utils.TokenHashUtils;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final AuthenticationManager authenticationManager;
+    private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final TokenService tokenService;
-    private final TokenRepository tokenRepository;
 
     public LoginResponseDTO loginUser(LoginRequestDTO loginRequestDTO) {
-        User user = userRepository.findUserByUsername(loginRequestDTO.getUsername())
+        LoginUserDTO loginUser = userRepository.findLoginUserByUsername(loginRequestDTO.getUsername(), Instant.now())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+        User user = loginUser.getUser();
 
-        if (!tokenService.getAllValidUserTokens(user).isEmpty()) {
+        if (loginUser.isLoggedIn()) {
             throw new UserAlreadyLoggedInException("You are already logged in");
         }
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(loginRequestDTO.getUsername(), loginRequestDTO.getPassword()));
+        if (!passwordEncoder.matches(loginRequestDTO.getPassword(), user.getPassword())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            String upgradedPassword = passwordEncoder.encode(loginRequestDTO.getPassword());
+            userRepository.updatePasswordByUsername(user.getUsername(), upgradedPassword);
+            user.setPassword(upgradedPassword);
+        }
 
-        tokenService.deleteAllUserTokens(user);
+        String refreshToken = jwtService.generateRefreshToken(user);
+        tokenService.replaceUserTokens(user, refreshToken);
 
-        String jwtToken = jwtService.generateToken(user);
-        tokenService.saveUserToken(user, jwtToken);
+        return buildLoginResponse(user, refreshToken);
+    }
 
-        return LoginResponseDTO.builder()
-                .token(jwtToken)
-                .build();
+    // Rotates the refresh token: the presented one is consumed and a new pair is issued.
+    @Transactional
+    public LoginResponseDTO refreshToken(RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        String refreshToken = refreshTokenRequestDTO.getRefreshToken();
+        ParsedTokenDTO parsedToken = parseRefreshToken(refreshToken);
+
+        if (!tokenService.deleteUserToken(TokenHashUtils.sha256(refreshToken))) {
+            throw new UserNotAuthenticatedException("Invalid refresh token");
+        }
+        User user = userRepository.findById(parsedToken.getUserId())
+                .orElseThrow(() -> new UserNotAuthenticatedException("Invalid refresh token"));
+
+        String newRefreshToken = jwtService.generateRefreshToken(user);
+        tokenService.saveUserToken(user, newRefreshToken);
+
+        return buildLoginResponse(user, newRefreshToken);
+    }
+
+    public ResponseEntity<String> logout(RefreshTokenRequestDTO refreshTokenRequestDTO) {
+        String tokenHash = TokenHashUtils.sha256(refreshTokenRequestDTO.getRefreshToken());
+        if (!tokenService.deleteUserToken(tokenHash)) {
+            return ResponseEntity.badRequest().body("Invalid JWT token");
+        }
+        return ResponseEntity.ok("Logout successful");
     }
 
-    public ResponseEntity<String> logout(HttpServletRequest request) {
-        String authHeader = request.getHeader("Authorization");
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return ResponseEntity.badRequest().body("Missing or invalid Authorization header");
+    private ParsedTokenDTO parseRefreshToken(String refreshToken) {
+        ParsedTokenDTO parsedToken;
+        try {
+            parsedToken = jwtService.parseToken(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new UserNotAuthenticatedException("Invalid refresh token");
         }
+        if (parsedToken.getTokenType() != TokenType.REFRESH || parsedToken.getUserId() == null) {
+            throw new UserNotAuthenticatedException("Invalid refresh token");
+        }
+        return parsedToken;
+    }
 
-        String jwt = authHeader.substring(7);
-        return tokenRepository.findByToken(jwt)
-                .map(token -> {
-                    token.setExpired(true);
-                    token.setRevoked(true);
-                    tokenRepository.delete(token);
-                    return ResponseEntity.ok("Logout successful");
-                })
-                .orElseGet(() -> ResponseEntity.badRequest().body("Invalid JWT token"));
+    private LoginResponseDTO buildLoginResponse(User user, String refreshToken) {
+        return LoginResponseDTO.builder()
+                .token(jwtService.generateToken(user))
+                .refreshToken(refreshToken)
+                .build();
     }
 }
@@ -33,7 +33,7 @@ public class EventService {
             throw new AlreadyExistsException("Event title already exists");
         }
 
-        User currentUser = userService.getCurrentUser()
+        User currentUser = userService.getCurrentUserReference()
                 .orElseThrow(() -> new UserNotAuthenticatedException("User not authenticated"));
 
         Event event = eventMapper.toEntity(eventRequestDTO);
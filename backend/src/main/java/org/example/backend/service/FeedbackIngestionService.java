@@ -0,0 +1,289 @@
+package org.example.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.dto.feedback.FeedbackRequestDTO;
+import org.example.backend.dto.feedback.FeedbackResponseDTO;
+import org.example.backend.enums.IngestionDurability;
+import org.example.backend.enums.SentimentType;
+import org.example.backend.exception.NotFoundException;
+import org.example.backend.exception.ServiceUnavailableException;
+import org.example.backend.mapper.FeedbackMapper;
+import org.example.backend.model.Feedback;
+import org.example.backend.model.User;
+import org.example.backend.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Opt-in write-behind path for feedback submits. Requests are acknowledged once buffered, or with COMMITTED
+// durability once their batch commits, and a single writer inserts the buffer in JDBC batches by size or time.
+@Slf4j
+@Service
+public class FeedbackIngestionService {
+
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final EventRepository eventRepository;
+    private final UserService userService;
+    private final FeedbackMapper feedbackMapper;
+    private final SentimentQueueService sentimentQueueService;
+    @Getter
+    private final boolean enabled;
+    @Getter
+    private final IngestionDurability durability;
+    private final int maxBatchSize;
+    private final long flushIntervalMillis;
+    private final long commitTimeoutMillis;
+
+    private final BlockingQueue<PendingFeedback> buffer;
+    private final Cache<UUID, Boolean> knownEvents;
+    final Thread writer;
+    private volatile boolean accepting = true;
+
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+    private final Counter droppedCounter;
+    private final DistributionSummary batchSizeSummary;
+
+    public FeedbackIngestionService(EntityManager entityManager,
+                                    TransactionTemplate transactionTemplate,
+                                    EventRepository eventRepository,
+                                    UserService userService,
+                                    FeedbackMapper feedbackMapper,
+                                    SentimentQueueService sentimentQueueService,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.feedback.ingestion.write-behind:false}") boolean enabled,
+                                    @Value("${app.feedback.ingestion.durability:BUFFERED}") IngestionDurability durability,
+                                    @Value("${app.feedback.ingestion.buffer-capacity:10000}") int bufferCapacity,
+                                    @Value("${app.feedback.ingestion.max-batch-size:100}") int maxBatchSize,
+                                    @Value("${app.feedback.ingestion.flush-interval:20}") long flushIntervalMillis,
+                                    @Value("${app.feedback.ingestion.commit-timeout:5000}") long commitTimeoutMillis,
+                                    @Value("${app.feedback.ingestion.event-cache-ttl:60000}") long eventCacheTtlMillis) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.eventRepository = eventRepository;
+        this.userService = userService;
+        this.feedbackMapper = feedbackMapper;
+        this.sentimentQueueService = sentimentQueueService;
+        this.enabled = enabled;
+        this.durability = durability;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.commitTimeoutMillis = commitTimeoutMillis;
+
+        this.buffer = new ArrayBlockingQueue<>(Math.max(1, bufferCapacity));
+        // Known events skip the existence query, so a buffered submit never takes a connection. Rows for an event
+        // deleted within the TTL are acknowledged, then fail on the foreign key and are counted as dropped.
+        this.knownEvents = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(eventCacheTtlMillis))
+                .build();
+
+        this.rejectedCounter = Counter.builder("feedback.ingest.rejected").register(meterRegistry);
+        this.failedCounter = Counter.builder("feedback.ingest.failed").register(meterRegistry);
+        this.droppedCounter = Counter.builder("feedback.ingest.dropped").register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("feedback.ingest.batch.size")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("feedback.ingest.buffer", buffer, BlockingQueue::size).register(meterRegistry);
+
+        if (enabled) {
+            this.writer = new Thread(this::drain, "feedback-writer");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        } else {
+            this.writer = null;
+        }
+    }
+
+    public Submission submitFeedback(UUID eventId, FeedbackRequestDTO feedbackRequestDTO) {
+        checkIfEventExists(eventId);
+
+        User user = userService.getCurrentUserReference()
+                .orElseThrow(() -> new NotFoundException("Authenticated user not found"));
+
+        // The id and creation date are assigned here so the acknowledgement matches the row written later.
+        Feedback feedback = Feedback.builder()
+                .id(UUID.randomUUID())
+                .createdAt(LocalDateTime.now())
+                .content(feedbackRequestDTO.getContent())
+                .event(eventRepository.getReferenceById(eventId))
+                .sentimentType(SentimentType.PENDING)
+                .user(user)
+                .build();
+        FeedbackResponseDTO response = feedbackMapper.toResponse(feedback);
+
+        PendingFeedback pending = new PendingFeedback(feedback, new CompletableFuture<>());
+        if (!accepting || !buffer.offer(pending)) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Feedback ingestion is saturated, please retry");
+        }
+
+        boolean committed = durability == IngestionDurability.COMMITTED && awaitCommit(pending);
+        return new Submission(response, committed);
+    }
+
+    private void checkIfEventExists(UUID eventId) {
+        if (knownEvents.getIfPresent(eventId) != null) {
+            return;
+        }
+        if (!eventRepository.existsById(eventId)) {
+            throw new NotFoundException("Event was not found");
+        }
+        knownEvents.put(eventId, Boolean.TRUE);
+    }
+
+    // A failed write is safe to retry, so it is a 503. Past the timeout the row may still be written, and a retry
+    // would duplicate it, so the submit is acknowledged with its id instead.
+    private boolean awaitCommit(PendingFeedback pending) {
+        try {
+            pending.written().get(commitTimeoutMillis, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            throw new ServiceUnavailableException("Feedback could not be saved");
+        } catch (TimeoutException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            // Completing the future first tells the writer this request stopped waiting.
+            if (pending.written().completeExceptionally(e)) {
+                log.warn("Feedback ID {} was not saved within {} ms, acknowledging it as accepted", pending.feedback().getId(), commitTimeoutMillis);
+                return false;
+            }
+            if (pending.written().isCompletedExceptionally()) {
+                throw new ServiceUnavailableException("Feedback could not be saved");
+            }
+            return true;
+        }
+    }
+
+    // A batch closes when it is full or flush-interval after its first row, whichever comes first.
+    private void drain() {
+        List<PendingFeedback> batch = new ArrayList<>(maxBatchSize);
+        while (accepting || !buffer.isEmpty()) {
+            try {
+                PendingFeedback first = buffer.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+                while (batch.size() < maxBatchSize) {
+                    if (buffer.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingFeedback next = remaining > 0 ? buffer.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Every blocking poll would throw from here on, so what is buffered is written without waiting.
+                accepting = false;
+                do {
+                    if (!batch.isEmpty()) {
+                        write(batch);
+                        batch.clear();
+                    }
+                } while (buffer.drainTo(batch, maxBatchSize) > 0);
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // Ids are assigned up front, so persist() inserts without a select and Hibernate batches the statements.
+    // One bad row fails the whole batch, which is then retried row by row to isolate it.
+    void write(List<PendingFeedback> batch) {
+        batchSizeSummary.record(batch.size());
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    batch.forEach(pending -> entityManager.persist(pending.feedback())));
+            batch.forEach(this::written);
+        } catch (Exception e) {
+            log.warn("Feedback batch of {} failed, retrying row by row: {}", batch.size(), e.getMessage());
+            for (PendingFeedback pending : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> entityManager.persist(pending.feedback()));
+                    written(pending);
+                } catch (Exception rowFailure) {
+                    failed(pending, rowFailure);
+                }
+            }
+        }
+    }
+
+    private void written(PendingFeedback pending) {
+        pending.written().complete(null);
+        sentimentQueueService.submit(pending.feedback());
+    }
+
+    // Buffered rows, and committed ones whose request already gave up, were acknowledged to the client, so a
+    // failure here loses them.
+    private void failed(PendingFeedback pending, Exception e) {
+        failedCounter.increment();
+        boolean reported = pending.written().completeExceptionally(e) && durability == IngestionDurability.COMMITTED;
+        if (reported) {
+            log.error("Failed to save feedback ID {}: {}", pending.feedback().getId(), e.getMessage());
+            return;
+        }
+        droppedCounter.increment();
+        log.error("Dropped acknowledged feedback ID {} for event {}: {}",
+                pending.feedback().getId(), pending.feedback().getEvent().getId(), e.getMessage());
+    }
+
+    // Buffered rows are written before shutdown; anything left after the timeout is lost.
+    @PreDestroy
+    public void shutdown() {
+        accepting = false;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            log.warn("Feedback writer did not drain in time, {} buffered feedbacks were not saved", buffer.size());
+        }
+    }
+
+    // committed is false when the row was only accepted, so the controller answers 202 instead of 201.
+    public record Submission(FeedbackResponseDTO feedback, boolean committed) {
+    }
+
+    record PendingFeedback(Feedback feedback, CompletableFuture<Void> written) {
+    }
+}
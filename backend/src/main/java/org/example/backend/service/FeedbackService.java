@@ -13,13 +13,11 @@ import org.example.backend.model.Feedback;
 import org.example.backend.model.User;
 import org.example.backend.repository.EventRepository;
 import org.example.backend.repository.FeedbackRepository;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @Service
@@ -30,15 +28,14 @@ public class FeedbackService {
     private final EventRepository eventRepository;
     private final FeedbackMapper feedbackMapper;
     private final UserService userService;
-    private final AiService aiService;
-    private final SimpMessagingTemplate messagingTemplate;
-
+    private final SentimentQueueService sentimentQueueService;
 
+    // Event and user are attached by reference, so a submit costs one existence query and one insert.
     @Transactional
     public FeedbackResponseDTO submitFeedback(UUID eventId, FeedbackRequestDTO feedbackRequestDTO) {
-        Event event = checkIfEventExists(eventId);
+        Event event = getEventReference(eventId);
 
-        User user = userService.getCurrentUser()
+        User user = userService.getCurrentUserReference()
                 .orElseThrow(() -> new NotFoundException("Authenticated user not found"));
 
         Feedback feedback = Feedback.builder()
@@ -50,7 +47,7 @@ public class FeedbackService {
 
         Feedback saved = feedbackRepository.save(feedback);
 
-        analyzeAndUpdateSentimentAsync(saved);
+        sentimentQueueService.submit(saved);
         return feedbackMapper.toResponse(feedback);
     }
 
@@ -80,26 +77,15 @@ public class FeedbackService {
                 .toList();
     }
 
+    private Event getEventReference(UUID eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new NotFoundException("Event was not found");
+        }
+        return eventRepository.getReferenceById(eventId);
+    }
+
     public Event checkIfEventExists(UUID eventId) {
         return eventRepository.findById(eventId)
                 .orElseThrow(() -> new NotFoundException("Event was not found"));
     }
-
-    public void analyzeAndUpdateSentimentAsync(Feedback feedback) {
-        CompletableFuture.runAsync(() -> {
-            try {
-                log.info("Starting sentiment analysis for feedback ID: {}", feedback.getId());
-
-                SentimentType sentiment = aiService.analyzeSentiment(feedback.getContent()).join();
-                feedback.setSentimentType(sentiment);
-                feedbackRepository.save(feedback);
-
-                log.info("Broadcasting feedback update for ID {} to /topic/feedback-updates", feedback.getId());
-                messagingTemplate.convertAndSend("/topic/feedback-updates", feedbackMapper.toResponse(feedback));
-
-            } catch (Exception e) {
-                log.error("Async sentiment analysis failed for feedback ID {}: {}", feedback.getId(), e.getMessage());
-            }
-        });
-    }
 }
@@ -1,10 +1,14 @@
 package org.example.backend.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import org.example.backend.dto.token.ParsedTokenDTO;
+import org.example.backend.enums.TokenType;
+import org.example.backend.enums.UserRole;
 import org.example.backend.model.User;
 import org.example.backend.userDetails.CustomUserDetails;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,6 +19,7 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Service
@@ -24,19 +29,50 @@ public class JwtService {
     private String secretKey;
     @Value("${app.security.jwt.expiration}")
     private long jwtExpiration;
+    @Value("${app.security.jwt.refresh-expiration}")
+    private long refreshExpiration;
+
+    // Built once from the secret; both are immutable and thread-safe.
+    private volatile Key signInKey;
+    private volatile JwtParser jwtParser;
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
+    public ParsedTokenDTO parseToken(String token) {
+        Claims claims = extractAllClaims(token);
+        String id = claims.get("id", String.class);
+        String role = claims.get("role", String.class);
+        String type = claims.get("type", String.class);
+
+        return ParsedTokenDTO.builder()
+                .token(token)
+                .subject(claims.getSubject())
+                .userId(id != null ? UUID.fromString(id) : null)
+                .role(role != null ? UserRole.valueOf(role) : null)
+                .tokenType(type != null ? TokenType.valueOf(type) : TokenType.BEARER)
+                .expiresAt(claims.getExpiration().toInstant())
+                .build();
+    }
+
     public String generateToken(User user) {
+        return buildToken(userClaims(user, TokenType.BEARER), new CustomUserDetails(user), jwtExpiration);
+    }
+
+    public String generateRefreshToken(User user) {
+        Map<String, Object> claims = userClaims(user, TokenType.REFRESH);
+        claims.put(Claims.ID, UUID.randomUUID().toString());
+        return buildToken(claims, new CustomUserDetails(user), refreshExpiration);
+    }
+
+    private Map<String, Object> userClaims(User user, TokenType tokenType) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("id", user.getId());
         claims.put("username", user.getUsername());
         claims.put("role", user.getRole().name());
-
-        UserDetails userDetails = new CustomUserDetails(user);
-        return buildToken(claims, userDetails, jwtExpiration);
+        claims.put("type", tokenType.name());
+        return claims;
     }
 
     public String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
@@ -50,8 +86,11 @@ public class JwtService {
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(parseToken(token), userDetails);
+    }
+
+    public boolean isTokenValid(ParsedTokenDTO token, UserDetails userDetails) {
+        return token.getSubject().equals(userDetails.getUsername()) && !token.isExpired();
     }
 
     public boolean isTokenExpired(String token) {
@@ -68,15 +107,29 @@ public class JwtService {
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return getJwtParser()
                 .parseClaimsJws(token)
                 .getBody();
     }
 
     public Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        Key key = signInKey;
+        if (key == null) {
+            byte[] keyBytes = Decoders.BASE64.decode(secretKey);
+            key = Keys.hmacShaKeyFor(keyBytes);
+            signInKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getJwtParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            parser = Jwts.parserBuilder()
+                    .setSigningKey(getSignInKey())
+                    .build();
+            jwtParser = parser;
+        }
+        return parser;
     }
 }
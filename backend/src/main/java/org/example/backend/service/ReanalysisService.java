@@ -0,0 +1,294 @@
+package org.example.backend.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.dto.reanalysis.ReanalysisProgressDTO;
+import org.example.backend.dto.sentiment.FeedbackContentDTO;
+import org.example.backend.dto.websocket.WebSocketMessageDTO;
+import org.example.backend.enums.ReanalysisStatus;
+import org.example.backend.enums.SentimentType;
+import org.example.backend.exception.AlreadyExistsException;
+import org.example.backend.exception.BadRequestException;
+import org.example.backend.exception.NotFoundException;
+import org.example.backend.model.ReanalysisJob;
+import org.example.backend.repository.EventRepository;
+import org.example.backend.repository.FeedbackRepository;
+import org.example.backend.repository.ReanalysisJobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Rescores existing feedback page by page. Each page's updates and its checkpoint commit together,
+// so an interrupted or failed job resumes right after the last written feedback.
+@Slf4j
+@Service
+public class ReanalysisService {
+
+    private static final String PROGRESS_QUEUE = "/queue/reanalysis";
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final ReanalysisJobRepository jobRepository;
+    private final FeedbackRepository feedbackRepository;
+    private final EventRepository eventRepository;
+    private final AiService aiService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int pageSize;
+    private final int parallelism;
+
+    // One job at a time: a second one would only compete for the same inference quota.
+    private final ExecutorService executor;
+    private volatile boolean stopping;
+
+    public ReanalysisService(ReanalysisJobRepository jobRepository,
+                             FeedbackRepository feedbackRepository,
+                             EventRepository eventRepository,
+                             AiService aiService,
+                             SimpMessagingTemplate messagingTemplate,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${app.reanalysis.page-size:200}") int pageSize,
+                             @Value("${app.reanalysis.parallelism:32}") int parallelism) {
+        this.jobRepository = jobRepository;
+        this.feedbackRepository = feedbackRepository;
+        this.eventRepository = eventRepository;
+        this.aiService = aiService;
+        this.messagingTemplate = messagingTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.pageSize = pageSize;
+        this.parallelism = Math.max(1, parallelism);
+
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reanalysis-job");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public synchronized ReanalysisProgressDTO startReanalysis(UUID eventId) {
+        if (eventId != null && !eventRepository.existsById(eventId)) {
+            throw new NotFoundException("Event was not found");
+        }
+        ensureNoJobIsRunning();
+
+        Instant now = Instant.now();
+        ReanalysisJob job = jobRepository.save(ReanalysisJob.builder()
+                .eventId(eventId)
+                .status(ReanalysisStatus.RUNNING)
+                .requestedBy(currentUsername())
+                .startedAt(now)
+                .updatedAt(now)
+                .build());
+        // Captured before launch, since the job thread updates the same entity.
+        ReanalysisProgressDTO progress = toProgress(job, 0);
+        launch(job);
+        return progress;
+    }
+
+    public synchronized ReanalysisProgressDTO resumeReanalysis(UUID jobId) {
+        ReanalysisJob job = findJob(jobId);
+        if (job.getStatus() == ReanalysisStatus.RUNNING || job.getStatus() == ReanalysisStatus.COMPLETED) {
+            throw new BadRequestException("Re-analysis job is " + job.getStatus().name().toLowerCase() + " and cannot be resumed");
+        }
+        ensureNoJobIsRunning();
+
+        job.setStatus(ReanalysisStatus.RUNNING);
+        job.setRequestedBy(currentUsername());
+        job.setUpdatedAt(Instant.now());
+        jobRepository.save(job);
+        ReanalysisProgressDTO progress = toProgress(job, 0);
+        launch(job);
+        return progress;
+    }
+
+    public ReanalysisProgressDTO getReanalysis(UUID jobId) {
+        return toProgress(findJob(jobId), 0);
+    }
+
+    // Jobs still marked running were cut off by the last shutdown.
+    @EventListener(ApplicationReadyEvent.class)
+    public void markInterruptedJobs() {
+        for (ReanalysisJob job : jobRepository.findAllByStatus(ReanalysisStatus.RUNNING)) {
+            job.setStatus(ReanalysisStatus.INTERRUPTED);
+            job.setUpdatedAt(Instant.now());
+            jobRepository.save(job);
+            log.info("Re-analysis job {} was interrupted at feedback ID {}", job.getId(), job.getLastFeedbackId());
+        }
+    }
+
+    private void ensureNoJobIsRunning() {
+        if (jobRepository.existsByStatus(ReanalysisStatus.RUNNING)) {
+            throw new AlreadyExistsException("A re-analysis job is already running");
+        }
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null ? authentication.getName() : null;
+    }
+
+    private ReanalysisJob findJob(UUID jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new NotFoundException("Re-analysis job was not found"));
+    }
+
+    private void launch(ReanalysisJob job) {
+        executor.execute(() -> run(job));
+    }
+
+    void run(ReanalysisJob job) {
+        long startNanos = System.nanoTime();
+        long processedAtStart = job.getProcessedCount();
+        log.info("Re-analysis job {} started after feedback ID {}", job.getId(), job.getLastFeedbackId());
+
+        try {
+            List<FeedbackContentDTO> page;
+            boolean pageWritten;
+            do {
+                if (stopping) {
+                    job.setStatus(ReanalysisStatus.INTERRUPTED);
+                    break;
+                }
+                page = nextPage(job);
+                pageWritten = page.isEmpty() || processPage(job, page);
+                publish(job, toProgress(job, throughput(job, processedAtStart, startNanos)));
+            } while ((page.size() == pageSize || !pageWritten) && job.getStatus() == ReanalysisStatus.RUNNING);
+
+            if (job.getStatus() == ReanalysisStatus.RUNNING) {
+                job.setStatus(ReanalysisStatus.COMPLETED);
+            }
+        } catch (Exception e) {
+            log.error("Re-analysis job {} failed: {}", job.getId(), e.getMessage());
+            job.setStatus(ReanalysisStatus.FAILED);
+        }
+
+        job.setUpdatedAt(Instant.now());
+        jobRepository.save(job);
+        publish(job, toProgress(job, throughput(job, processedAtStart, startNanos)));
+        log.info("Re-analysis job {} finished as {} after {} feedbacks", job.getId(), job.getStatus(), job.getProcessedCount());
+    }
+
+    private List<FeedbackContentDTO> nextPage(ReanalysisJob job) {
+        UUID lastId = job.getLastFeedbackId() != null ? job.getLastFeedbackId() : FIRST_ID;
+        PageRequest page = PageRequest.of(0, pageSize);
+        return job.getEventId() != null
+                ? feedbackRepository.findContentByEventAfter(job.getEventId(), SentimentType.PENDING, lastId, page)
+                : feedbackRepository.findContentAfter(SentimentType.PENDING, lastId, page);
+    }
+
+    // Inference fans out up to the configured parallelism and AiService folds it into batches; writes are one
+    // update per sentiment. Only results up to the first failed feedback are written, so the checkpoint never skips
+    // it: it heads the next page for another attempt, and failing again stops the job there. failedCount counts
+    // failed attempts. Returns whether the whole page was written.
+    private boolean processPage(ReanalysisJob job, List<FeedbackContentDTO> page) {
+        Map<UUID, SentimentType> results = Flux.fromIterable(page)
+                .flatMap(feedback -> Mono.fromFuture(() -> aiService.reanalyzeSentiment(feedback.getContent()))
+                        .map(sentiment -> Map.entry(feedback.getId(), sentiment))
+                        .onErrorResume(e -> Mono.empty()), parallelism)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .block();
+
+        List<FeedbackContentDTO> analyzed = page.stream()
+                .takeWhile(feedback -> results.containsKey(feedback.getId()))
+                .toList();
+        int failed = page.size() - results.size();
+        if (analyzed.isEmpty()) {
+            log.warn("Re-analysis job {} could not analyze feedback ID {}", job.getId(), page.getFirst().getId());
+            job.setFailedCount(job.getFailedCount() + failed);
+            job.setStatus(ReanalysisStatus.FAILED);
+            return false;
+        }
+
+        Map<SentimentType, List<UUID>> idsBySentiment = analyzed.stream()
+                .collect(Collectors.groupingBy(feedback -> results.get(feedback.getId()),
+                        Collectors.mapping(FeedbackContentDTO::getId, Collectors.toList())));
+
+        // The job only takes the new checkpoint once it is committed, so a failed commit leaves it where the table has it.
+        ReanalysisJob checkpoint = job.toBuilder()
+                .lastFeedbackId(analyzed.getLast().getId())
+                .processedCount(job.getProcessedCount() + analyzed.size())
+                .failedCount(job.getFailedCount() + failed)
+                .updatedAt(Instant.now())
+                .build();
+        transactionTemplate.executeWithoutResult(status -> {
+            int updated = 0;
+            for (Map.Entry<SentimentType, List<UUID>> entry : idsBySentiment.entrySet()) {
+                updated += feedbackRepository.updateSentiment(entry.getValue(), entry.getKey(), false);
+            }
+            checkpoint.setUpdatedCount(job.getUpdatedCount() + updated);
+            jobRepository.save(checkpoint);
+        });
+
+        job.setLastFeedbackId(checkpoint.getLastFeedbackId());
+        job.setProcessedCount(checkpoint.getProcessedCount());
+        job.setUpdatedCount(checkpoint.getUpdatedCount());
+        job.setFailedCount(checkpoint.getFailedCount());
+        job.setUpdatedAt(checkpoint.getUpdatedAt());
+        return analyzed.size() == page.size();
+    }
+
+    private static double throughput(ReanalysisJob job, long processedAtStart, long startNanos) {
+        double seconds = Duration.ofNanos(System.nanoTime() - startNanos).toMillis() / 1000.0;
+        return seconds > 0 ? (job.getProcessedCount() - processedAtStart) / seconds : 0;
+    }
+
+    // Progress goes to the requesting admin's user queue rather than a topic any client could subscribe to.
+    private void publish(ReanalysisJob job, ReanalysisProgressDTO progress) {
+        if (job.getRequestedBy() == null) {
+            return;
+        }
+        try {
+            messagingTemplate.convertAndSendToUser(job.getRequestedBy(), PROGRESS_QUEUE, WebSocketMessageDTO.builder()
+                    .type("REANALYSIS_PROGRESS")
+                    .data(progress)
+                    .build());
+        } catch (Exception e) {
+            log.warn("Failed to publish re-analysis progress for job {}: {}", progress.getJobId(), e.getMessage());
+        }
+    }
+
+    private static ReanalysisProgressDTO toProgress(ReanalysisJob job, double feedbackPerSecond) {
+        return ReanalysisProgressDTO.builder()
+                .jobId(job.getId())
+                .eventId(job.getEventId())
+                .status(job.getStatus())
+                .processedCount(job.getProcessedCount())
+                .updatedCount(job.getUpdatedCount())
+                .failedCount(job.getFailedCount())
+                .feedbackPerSecond(feedbackPerSecond)
+                .startedAt(job.getStartedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+
+    // The running page finishes and is checkpointed; the job is left INTERRUPTED for a later resume.
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Re-analysis job still running at shutdown, it will be marked interrupted on startup");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
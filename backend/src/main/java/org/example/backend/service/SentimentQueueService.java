@@ -0,0 +1,358 @@
+package org.example.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.analyzer.SentimentAnalyzer;
+import org.example.backend.dto.feedback.FeedbackResponseDTO;
+import org.example.backend.enums.QueueAdmission;
+import org.example.backend.enums.SentimentType;
+import org.example.backend.mapper.FeedbackMapper;
+import org.example.backend.model.Feedback;
+import org.example.backend.repository.FeedbackRepository;
+import org.example.backend.scheduling.FairQueue;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+
+// The PENDING row is the durable checkpoint: anything dropped by overflow or shutdown is found again by a rescan.
+// Work is queued per event and drained by deficit round-robin on content length, so one large or verbose event cannot
+// hold back the others, and each event may only hold a share of the capacity so it cannot fill admission either.
+@Slf4j
+@Service
+public class SentimentQueueService {
+
+    private final FeedbackRepository feedbackRepository;
+    private final FeedbackMapper feedbackMapper;
+    private final SentimentAnalyzer remoteAnalyzer;
+    private final SentimentAnalyzer fallbackAnalyzer;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SentimentUpdateService sentimentUpdateService;
+    private final Duration latencyBudget;
+    private final int maxInFlight;
+    private final int rescanBatchSize;
+    private final long shutdownTimeoutMillis;
+    private final MeterRegistry meterRegistry;
+
+    private final FairQueue<SentimentTask> queue;
+    private final Set<UUID> tracked = ConcurrentHashMap.newKeySet();
+    private final Semaphore inFlight;
+    private final AtomicBoolean rescanNeeded = new AtomicBoolean();
+    private final Thread dispatcher;
+    private volatile boolean accepting = true;
+
+    private final Counter deferredCounter;
+    private final Counter userCappedCounter;
+    private final Counter eventCappedCounter;
+    private final Counter provisionalCounter;
+    private final Counter upgradedCounter;
+    private final Timer timeToSentimentTimer;
+    private final Cache<UUID, Timer> eventTimers;
+
+    public SentimentQueueService(FeedbackRepository feedbackRepository,
+                                 FeedbackMapper feedbackMapper,
+                                 @Qualifier("aiService") SentimentAnalyzer remoteAnalyzer,
+                                 @Qualifier("lexiconSentimentAnalyzer") SentimentAnalyzer fallbackAnalyzer,
+                                 SimpMessagingTemplate messagingTemplate,
+                                 SentimentUpdateService sentimentUpdateService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.sentiment.latency-budget:2000}") long latencyBudgetMillis,
+                                 @Value("${app.sentiment.queue.capacity:10000}") int capacity,
+                                 @Value("${app.sentiment.queue.max-in-flight:256}") int maxInFlight,
+                                 @Value("${app.sentiment.queue.per-user-cap:50}") int perUserCap,
+                                 @Value("${app.sentiment.queue.per-event-share:0.25}") double perEventShare,
+                                 @Value("${app.sentiment.queue.quantum:512}") int quantum,
+                                 @Value("${app.sentiment.queue.rescan-batch-size:500}") int rescanBatchSize,
+                                 @Value("${app.sentiment.queue.shutdown-timeout:10000}") long shutdownTimeoutMillis,
+                                 @Value("${app.sentiment.metrics.top-events:20}") int topEvents) {
+        this.feedbackRepository = feedbackRepository;
+        this.feedbackMapper = feedbackMapper;
+        this.remoteAnalyzer = remoteAnalyzer;
+        this.fallbackAnalyzer = fallbackAnalyzer;
+        this.messagingTemplate = messagingTemplate;
+        this.sentimentUpdateService = sentimentUpdateService;
+        this.latencyBudget = Duration.ofMillis(latencyBudgetMillis);
+        this.maxInFlight = maxInFlight;
+        this.rescanBatchSize = rescanBatchSize;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+        this.meterRegistry = meterRegistry;
+
+        // Inference cost grows with the text, so an event's turn is measured in characters rather than feedbacks.
+        this.queue = new FairQueue<>(capacity, (int) Math.ceil(capacity * perEventShare), perUserCap, quantum,
+                task -> task.feedback().getContent() != null ? task.feedback().getContent().length() : 1);
+        this.inFlight = new Semaphore(maxInFlight);
+
+        this.deferredCounter = Counter.builder("sentiment.queue.deferred").register(meterRegistry);
+        this.userCappedCounter = Counter.builder("sentiment.queue.user-capped").register(meterRegistry);
+        this.eventCappedCounter = Counter.builder("sentiment.queue.event-capped").register(meterRegistry);
+        this.provisionalCounter = Counter.builder("sentiment.provisional").register(meterRegistry);
+        this.upgradedCounter = Counter.builder("sentiment.provisional.upgraded").register(meterRegistry);
+        this.timeToSentimentTimer = Timer.builder("sentiment.time-to-result")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        // Only the busiest events keep a tagged timer; an evicted event drops its meter, so the series stay bounded.
+        this.eventTimers = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, topEvents))
+                .executor(Runnable::run)
+                .<UUID, Timer>removalListener((eventId, timer, cause) -> {
+                    if (timer != null) {
+                        meterRegistry.remove(timer);
+                    }
+                })
+                .build();
+        Gauge.builder("sentiment.queue.depth", queue, FairQueue::size).register(meterRegistry);
+        Gauge.builder("sentiment.queue.events", queue, FairQueue::activeKeys).register(meterRegistry);
+        Gauge.builder("sentiment.queue.in-flight", inFlight, permits -> maxInFlight - permits.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("sentiment.queue.oldest.age", this, SentimentQueueService::oldestPendingAgeSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        this.dispatcher = new Thread(this::dispatch, "sentiment-dispatcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    // Analysis starts only once the row is committed, so the result never races the insert.
+    public void submit(Feedback feedback) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(feedback);
+                }
+            });
+        } else {
+            enqueue(feedback);
+        }
+    }
+
+    boolean enqueue(Feedback feedback) {
+        if (!tracked.add(feedback.getId())) {
+            return true;
+        }
+        QueueAdmission admission = accepting
+                ? queue.offer(eventId(feedback), userId(feedback), new SentimentTask(feedback, Instant.now()))
+                : QueueAdmission.QUEUE_FULL;
+        if (admission == QueueAdmission.ACCEPTED) {
+            return true;
+        }
+
+        tracked.remove(feedback.getId());
+        rescanNeeded.set(true);
+        deferredCounter.increment();
+        if (admission == QueueAdmission.OWNER_CAPPED) {
+            userCappedCounter.increment();
+            log.warn("User has too much feedback queued, feedback ID {} stays pending until the next rescan", feedback.getId());
+        } else if (admission == QueueAdmission.KEY_CAPPED) {
+            eventCappedCounter.increment();
+            log.warn("Event has too much feedback queued, feedback ID {} stays pending until the next rescan", feedback.getId());
+        } else {
+            log.warn("Sentiment queue is full, feedback ID {} stays pending until the next rescan", feedback.getId());
+        }
+        return false;
+    }
+
+    // Only the ids are read, which lazy proxies answer without touching the database.
+    private static UUID eventId(Feedback feedback) {
+        return feedback.getEvent() != null ? feedback.getEvent().getId() : null;
+    }
+
+    private static UUID userId(Feedback feedback) {
+        return feedback.getUser() != null ? feedback.getUser().getId() : null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverPending() {
+        int enqueued = rescan();
+        log.info("Re-enqueued {} pending feedbacks for sentiment analysis", enqueued);
+    }
+
+    @Scheduled(fixedDelayString = "${app.sentiment.queue.rescan-interval:60000}")
+    public void rescanDeferred() {
+        if (rescanNeeded.compareAndSet(true, false)) {
+            rescan();
+        }
+    }
+
+    // Pending rows go first; provisional rows follow so their local result is eventually replaced by the remote one.
+    int rescan() {
+        int enqueued = rescan((lastId, page) -> feedbackRepository.findBySentimentTypeAfter(SentimentType.PENDING, lastId, page));
+        if (accepting && !queue.isFull()) {
+            enqueued += rescan(feedbackRepository::findProvisionalAfter);
+        }
+        return enqueued;
+    }
+
+    private int rescan(BiFunction<UUID, Pageable, List<Feedback>> nextPage) {
+        UUID lastId = new UUID(0, 0);
+        List<Feedback> page;
+        int enqueued = 0;
+
+        do {
+            page = nextPage.apply(lastId, PageRequest.of(0, rescanBatchSize));
+            for (Feedback feedback : page) {
+                if (enqueue(feedback)) {
+                    enqueued++;
+                } else if (!accepting || queue.isFull()) {
+                    return enqueued;
+                }
+            }
+            if (!page.isEmpty()) {
+                lastId = page.getLast().getId();
+            }
+        } while (page.size() == rescanBatchSize);
+
+        return enqueued;
+    }
+
+    private void dispatch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                inFlight.acquire();
+                try {
+                    process(queue.take());
+                } catch (InterruptedException e) {
+                    inFlight.release();
+                    throw e;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // The remote answer is awaited only for the latency budget; after that the local result is stored as provisional.
+    // A row that is already provisional has a result, so it just waits for the remote one or is retried by a later rescan.
+    private void process(SentimentTask task) {
+        Feedback feedback = task.feedback();
+        boolean retryingProvisional = feedback.isSentimentProvisional();
+        log.info("Starting sentiment analysis for feedback ID: {}", feedback.getId());
+        CompletableFuture<SentimentType> remote = remoteAnalyzer.analyzeSentiment(feedback.getContent());
+
+        Mono<SentimentResult> result = Mono.fromFuture(remote, true)
+                .map(sentiment -> new SentimentResult(sentiment, false));
+        if (!retryingProvisional) {
+            result = result.timeout(latencyBudget)
+                    .onErrorResume(e -> fallback(feedback, e));
+        }
+
+        // The permit is held through the upgrade, so remote calls still running after a fallback stay within the bound.
+        result.flatMap(outcome -> {
+                    if (retryingProvisional) {
+                        upgradedCounter.increment();
+                    }
+                    updateSentiment(feedback, outcome.sentiment(), outcome.provisional());
+                    recordTimeToSentiment(feedback, Duration.between(task.enqueuedAt(), Instant.now()));
+                    return outcome.provisional() ? upgrade(feedback, remote) : Mono.<Void>empty();
+                })
+                .doFinally(signal -> {
+                    tracked.remove(feedback.getId());
+                    inFlight.release();
+                })
+                .subscribe(null, e -> {
+                    log.warn("Remote sentiment failed for feedback ID {}, keeping provisional result: {}", feedback.getId(), e.getMessage());
+                    rescanNeeded.set(true);
+                });
+    }
+
+    private Mono<SentimentResult> fallback(Feedback feedback, Throwable e) {
+        log.warn("Remote sentiment unavailable for feedback ID {}, using local result: {}", feedback.getId(), e.toString());
+        provisionalCounter.increment();
+        return Mono.fromFuture(fallbackAnalyzer.analyzeSentiment(feedback.getContent()))
+                .map(sentiment -> new SentimentResult(sentiment, true));
+    }
+
+    private Mono<Void> upgrade(Feedback feedback, CompletableFuture<SentimentType> remote) {
+        return Mono.fromFuture(remote, true)
+                .doOnNext(sentiment -> {
+                    upgradedCounter.increment();
+                    updateSentiment(feedback, sentiment, false);
+                })
+                .then();
+    }
+
+    // The response is captured now because a later upgrade changes the same entity before this write lands.
+    private void updateSentiment(Feedback feedback, SentimentType sentiment, boolean provisional) {
+        feedback.setSentimentType(sentiment);
+        feedback.setSentimentProvisional(provisional);
+        FeedbackResponseDTO response = feedbackMapper.toResponse(feedback);
+
+        sentimentUpdateService.updateSentiment(feedback.getId(), sentiment, provisional)
+                .whenComplete((written, e) -> {
+                    if (e != null) {
+                        log.error("Async sentiment analysis failed for feedback ID {}: {}", feedback.getId(), e.getMessage());
+                        return;
+                    }
+                    log.info("Broadcasting feedback update for ID {} to /topic/feedback-updates", feedback.getId());
+                    messagingTemplate.convertAndSend("/topic/feedback-updates", response);
+                });
+    }
+
+    private void recordTimeToSentiment(Feedback feedback, Duration elapsed) {
+        timeToSentimentTimer.record(elapsed);
+        UUID eventId = eventId(feedback);
+        if (eventId != null) {
+            eventTimers.get(eventId, id -> Timer.builder("sentiment.time-to-result.event")
+                            .tag("event", id.toString())
+                            .publishPercentiles(0.5, 0.99)
+                            .register(meterRegistry))
+                    .record(elapsed);
+        }
+    }
+
+    private double oldestPendingAgeSeconds() {
+        return queue.oldest()
+                .map(oldest -> Duration.between(oldest.enqueuedAt(), Instant.now()).toMillis() / 1000.0)
+                .orElse(0.0);
+    }
+
+    // Queued items are left PENDING for the next startup; in-flight calls get a bounded chance to finish.
+    @PreDestroy
+    public void shutdown() {
+        accepting = false;
+        dispatcher.interrupt();
+
+        int abandoned = queue.clear();
+        try {
+            if (!inFlight.tryAcquire(maxInFlight, shutdownTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                log.warn("Sentiment analysis still in flight at shutdown, will be retried on startup");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Left {} queued feedbacks pending for the next startup", abandoned);
+    }
+
+    private record SentimentTask(Feedback feedback, Instant enqueuedAt) {
+    }
+
+    private record SentimentResult(SentimentType sentiment, boolean provisional) {
+    }
+}
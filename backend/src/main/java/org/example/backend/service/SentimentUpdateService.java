@@ -0,0 +1,139 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.enums.SentimentType;
+import org.example.backend.repository.FeedbackRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Coalesces sentiment results for a few milliseconds and writes them as one UPDATE ... WHERE id IN per sentiment,
+// instead of merging each detached Feedback. A later result for the same id replaces the earlier one before it is written.
+@Slf4j
+@Service
+public class SentimentUpdateService {
+
+    private final FeedbackRepository feedbackRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final long flushIntervalMillis;
+
+    private final Map<UUID, PendingUpdate> pending = new LinkedHashMap<>();
+    private final ScheduledThreadPoolExecutor writer;
+    private ScheduledFuture<?> flushTimer;
+
+    private final DistributionSummary batchSizeSummary;
+
+    public SentimentUpdateService(FeedbackRepository feedbackRepository,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.sentiment.write.max-batch-size:200}") int maxBatchSize,
+                                  @Value("${app.sentiment.write.flush-interval:10}") long flushIntervalMillis) {
+        this.feedbackRepository = feedbackRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.flushIntervalMillis = flushIntervalMillis;
+
+        // A single writer keeps flushes in order, so an upgrade is never overtaken by the provisional result it replaces.
+        this.writer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "sentiment-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writer.setRemoveOnCancelPolicy(true);
+
+        this.batchSizeSummary = DistributionSummary.builder("sentiment.write.batch.size")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // Completes once the row is committed.
+    public CompletableFuture<Void> updateSentiment(UUID feedbackId, SentimentType sentiment, boolean provisional) {
+        CompletableFuture<Void> written = new CompletableFuture<>();
+
+        synchronized (pending) {
+            PendingUpdate update = new PendingUpdate(feedbackId, sentiment, provisional, new ArrayList<>());
+            PendingUpdate replaced = pending.put(feedbackId, update);
+            if (replaced != null) {
+                update.waiters().addAll(replaced.waiters());
+            }
+            update.waiters().add(written);
+            if (pending.size() >= maxBatchSize) {
+                cancelTimer();
+                writer.execute(this::flush);
+            } else if (flushTimer == null) {
+                flushTimer = writer.schedule(this::flush, flushIntervalMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        return written;
+    }
+
+    void flush() {
+        List<PendingUpdate> batch;
+        synchronized (pending) {
+            cancelTimer();
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = List.copyOf(pending.values());
+            pending.clear();
+        }
+
+        batchSizeSummary.record(batch.size());
+        Map<SentimentKey, List<UUID>> idsBySentiment = batch.stream()
+                .collect(Collectors.groupingBy(
+                        update -> new SentimentKey(update.sentiment(), update.provisional()),
+                        LinkedHashMap::new,
+                        Collectors.mapping(PendingUpdate::feedbackId, Collectors.toList())));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> idsBySentiment.forEach((key, ids) ->
+                    feedbackRepository.updateSentiment(ids, key.sentiment(), key.provisional())));
+            batch.forEach(update -> update.waiters().forEach(waiter -> waiter.complete(null)));
+        } catch (Exception e) {
+            log.error("Failed to write {} sentiment results: {}", batch.size(), e.getMessage());
+            batch.forEach(update -> update.waiters().forEach(waiter -> waiter.completeExceptionally(e)));
+        }
+    }
+
+    private void cancelTimer() {
+        if (flushTimer != null) {
+            flushTimer.cancel(false);
+            flushTimer = null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.execute(this::flush);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.warn("Sentiment writer did not finish in time, unwritten rows stay pending");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record PendingUpdate(UUID feedbackId, SentimentType sentiment, boolean provisional,
+                                 List<CompletableFuture<Void>> waiters) {
+    }
+
+    private record SentimentKey(SentimentType sentiment, boolean provisional) {
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.backend.dto.token.TokenExpiryDTO;
+import org.example.backend.dto.websocket.WebSocketMessageDTO;
+import org.example.backend.repository.TokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class SessionExpiryService {
+
+    private final TokenRepository tokenRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int loadBatchSize;
+
+    private final Map<String, ExpiryTimer> timers = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    public SessionExpiryService(TokenRepository tokenRepository,
+                                SimpMessagingTemplate messagingTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.security.token-cleanup.batch-size:500}") int loadBatchSize) {
+        this.tokenRepository = tokenRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.loadBatchSize = loadBatchSize;
+
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "session-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+
+        meterRegistry.gaugeMapSize("session.expiry.scheduled", List.of(), timers);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveTokens() {
+        UUID lastId = new UUID(0, 0);
+        List<TokenExpiryDTO> tokens;
+
+        do {
+            tokens = tokenRepository.findActiveTokensAfter(lastId, PageRequest.of(0, loadBatchSize));
+            tokens.forEach(token -> schedule(token.getTokenHash(), token.getUsername(), token.getExpiresAt()));
+            if (!tokens.isEmpty()) {
+                lastId = tokens.getLast().getId();
+            }
+        } while (tokens.size() == loadBatchSize);
+
+        log.info("Scheduled expiry for {} active sessions", timers.size());
+    }
+
+    public void schedule(String tokenHash, String username, Instant expiresAt) {
+        long delay = Math.max(0, Duration.between(Instant.now(), expiresAt).toMillis());
+        ScheduledFuture<?> future = scheduler.schedule(() -> {
+            timers.remove(tokenHash);
+            expire(tokenHash, username);
+        }, delay, TimeUnit.MILLISECONDS);
+
+        ExpiryTimer timer = new ExpiryTimer(username, future);
+        ExpiryTimer previous = timers.put(tokenHash, timer);
+        if (previous != null) {
+            previous.future().cancel(false);
+        }
+        if (future.isDone()) {
+            timers.remove(tokenHash, timer);
+        }
+    }
+
+    public void cancel(String tokenHash) {
+        ExpiryTimer timer = timers.remove(tokenHash);
+        if (timer != null) {
+            timer.future().cancel(false);
+        }
+    }
+
+    // Hashes with a pending timer for this user, so a set-based delete can cancel them without reading the rows back.
+    public List<String> scheduledFor(String username) {
+        return timers.entrySet().stream()
+                .filter(entry -> entry.getValue().username().equals(username))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // Only a still-active token triggers the push. A revoked or expired row is removed silently,
+    // and a token that is already gone is skipped.
+    void expire(String tokenHash, String username) {
+        try {
+            int deleted = tokenRepository.deleteActiveByTokenHash(tokenHash);
+            if (deleted == 0) {
+                tokenRepository.deleteByTokenHash(tokenHash);
+                return;
+            }
+
+            WebSocketMessageDTO message = WebSocketMessageDTO.builder()
+                    .type("SESSION_EXPIRED")
+                    .data("Your session has expired. Please log in again.")
+                    .build();
+
+            messagingTemplate.convertAndSendToUser(username, "/queue/session", message);
+            log.info("Sent session expiration message to user: {}", username);
+        } catch (Exception e) {
+            log.warn("Failed to expire session for user {}: {}", username, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private record ExpiryTimer(String username, ScheduledFuture<?> future) {
+    }
+}
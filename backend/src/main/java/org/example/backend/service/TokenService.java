@@ -1,17 +1,24 @@
 package org.example.backend.service;
 
-import io.jsonwebtoken.ExpiredJwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.backend.dto.token.TokenExpiryDTO;
 import org.example.backend.dto.websocket.WebSocketMessageDTO;
 import org.example.backend.enums.TokenType;
 import org.example.backend.model.Token;
 import org.example.backend.model.User;
 import org.example.backend.repository.TokenRepository;
+import org.example.backend.utils.TokenHashUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
 import java.util.List;
 
 @Slf4j
@@ -22,6 +29,10 @@ public class TokenService {
     private final TokenRepository tokenRepository;
     private final JwtService jwtService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final SessionExpiryService sessionExpiryService;
+
+    @Value("${app.security.token-cleanup.batch-size:500}")
+    private int cleanupBatchSize;
 
     public void saveUserToken(User user, String jwtToken) {
         if (user == null || jwtToken == null) {
@@ -30,71 +41,76 @@ public class TokenService {
 
         var token = Token.builder()
                 .user(user)
-                .token(jwtToken)
-                .tokenType(TokenType.BEARER)
+                .tokenHash(TokenHashUtils.sha256(jwtToken))
+                .tokenType(TokenType.REFRESH)
+                .expiresAt(jwtService.extractExpiration(jwtToken).toInstant())
                 .expired(false)
                 .revoked(false)
                 .build();
         tokenRepository.save(token);
+        sessionExpiryService.schedule(token.getTokenHash(), user.getUsername(), token.getExpiresAt());
     }
 
-    public void revokeAllUserTokens(User user) {
-        var validUserTokens = tokenRepository.findAllByUserIdAndExpiredIsFalseAndRevokedIsFalse(user.getId());
-        if (validUserTokens.isEmpty()) {
-            return;
-        }
-        validUserTokens.forEach(token -> {
-            token.setExpired(true);
-            token.setRevoked(true);
-        });
-        tokenRepository.saveAll(validUserTokens);
+    // Timers are cancelled only once the delete commits, so a rolled-back delete keeps its sessions expiring.
+    public void deleteAllUserTokens(User user) {
+        List<String> tokenHashes = sessionExpiryService.scheduledFor(user.getUsername());
+        tokenRepository.deleteAllByUserId(user.getId());
+        afterCommit(() -> tokenHashes.forEach(sessionExpiryService::cancel));
     }
 
-    public void deleteAllUserTokens(User user) {
-        var allUserTokens = tokenRepository.findAllByUserId(user.getId());
-        if (!allUserTokens.isEmpty()) {
-            tokenRepository.deleteAll(allUserTokens);
-        }
+    // Only an active row counts, so a revoked or expired refresh token can neither be rotated nor logged out with.
+    public boolean deleteUserToken(String tokenHash) {
+        sessionExpiryService.cancel(tokenHash);
+        return tokenRepository.deleteActiveByTokenHash(tokenHash) > 0;
     }
 
-    public List<Token> getAllValidUserTokens(User user) {
-        return tokenRepository.findAllByUserIdAndExpiredIsFalseAndRevokedIsFalse(user.getId());
+    @Transactional
+    public void replaceUserTokens(User user, String jwtToken) {
+        deleteAllUserTokens(user);
+        saveUserToken(user, jwtToken);
     }
 
-    @Scheduled(cron = "0 0 * * * *")
+    // Backstop for rows without a live expiry timer; deletes in fixed-size chunks so the sweep never loads the whole table.
+    // Only rows that were still active get a push, since revoked, expired or legacy rows have no live session.
+    @Scheduled(cron = "${app.security.token-cleanup.cron:0 0 4 * * *}")
     public void cleanupExpiredTokens() {
-        List<Token> allTokens = tokenRepository.findAll();
-
-        List<Token> expiredTokens = allTokens.stream()
-                .filter(token -> {
-                    try {
-                        return jwtService.isTokenExpired(token.getToken());
-                    } catch (ExpiredJwtException e) {
-                        log.info("Token expired: id={}, expiresAt={}", token.getId(), e.getClaims().getExpiration());
-                        return true;
-                    } catch (Exception e) {
-                        log.warn("Failed to check token {}: {}", token.getToken(), e.getMessage());
-                        return false;
-                    }
-                })
-                .toList();
-
-        expiredTokens.forEach(token -> {
-            token.setExpired(true);
-            token.setRevoked(true);
-
-            WebSocketMessageDTO message = WebSocketMessageDTO.builder()
-                    .type("SESSION_EXPIRED")
-                    .data("Your session has expired. Please log in again.")
-                    .build();
-
-            String username = token.getUser().getUsername();
-            messagingTemplate.convertAndSendToUser(username, "/queue/session", message);
-            log.info("Sent session expiration message to user: {}", username);
-        });
-
-        if (!expiredTokens.isEmpty()) {
-            tokenRepository.deleteAll(expiredTokens);
+        Instant now = Instant.now();
+        List<TokenExpiryDTO> expiredTokens;
+
+        do {
+            expiredTokens = tokenRepository.findExpiredTokens(now, PageRequest.of(0, cleanupBatchSize));
+            if (expiredTokens.isEmpty()) {
+                return;
+            }
+
+            tokenRepository.deleteAllByIdInBatch(expiredTokens.stream().map(TokenExpiryDTO::getId).toList());
+
+            expiredTokens.stream().filter(TokenService::wasActive).forEach(token -> {
+                WebSocketMessageDTO message = WebSocketMessageDTO.builder()
+                        .type("SESSION_EXPIRED")
+                        .data("Your session has expired. Please log in again.")
+                        .build();
+
+                messagingTemplate.convertAndSendToUser(token.getUsername(), "/queue/session", message);
+                log.info("Sent session expiration message to user: {}", token.getUsername());
+            });
+        } while (expiredTokens.size() == cleanupBatchSize);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
         }
     }
+
+    private static boolean wasActive(TokenExpiryDTO token) {
+        return token.getExpiresAt() != null && !token.isExpired() && !token.isRevoked();
+    }
 }
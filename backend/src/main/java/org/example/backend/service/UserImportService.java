@@ -0,0 +1,157 @@
+package org.example.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.user.BulkUserResponseDTO;
+import org.example.backend.dto.user.BulkUserResultDTO;
+import org.example.backend.dto.user.UserRequestDTO;
+import org.example.backend.enums.BulkUserStatus;
+import org.example.backend.exception.BadRequestException;
+import org.example.backend.utils.CsvUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class UserImportService {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${app.users.import.chunk-size:500}")
+    private int chunkSize;
+
+    // Reads the body line by line so only one chunk of rows is held before it is written.
+    public BulkUserResponseDTO importUsers(InputStream body, MediaType contentType) throws IOException {
+        boolean csv = contentType.isCompatibleWith(TEXT_CSV);
+        List<BulkUserResultDTO> results = new ArrayList<>();
+        List<UserRequestDTO> chunk = new ArrayList<>(chunkSize);
+        List<Long> chunkRows = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            Map<String, Integer> header = null;
+            long row = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && header == null) {
+                    header = parseHeader(line);
+                    continue;
+                }
+
+                row++;
+                UserRequestDTO userRequestDTO;
+                try {
+                    userRequestDTO = csv ? fromCsv(header, line) : objectMapper.readValue(line, UserRequestDTO.class);
+                } catch (IOException | IllegalArgumentException e) {
+                    results.add(invalid(row, null, "Malformed row"));
+                    continue;
+                }
+
+                String violations = validate(userRequestDTO);
+                if (violations != null) {
+                    results.add(invalid(row, userRequestDTO.getUsername(), violations));
+                    continue;
+                }
+
+                chunk.add(userRequestDTO);
+                chunkRows.add(row);
+                if (chunk.size() == chunkSize) {
+                    flush(chunk, chunkRows, results);
+                }
+            }
+        }
+        flush(chunk, chunkRows, results);
+
+        results.sort(Comparator.comparingLong(BulkUserResultDTO::getRow));
+        int created = (int) results.stream().filter(result -> result.getStatus() == BulkUserStatus.CREATED).count();
+        return BulkUserResponseDTO.builder()
+                .created(created)
+                .failed(results.size() - created)
+                .results(results)
+                .build();
+    }
+
+    private void flush(List<UserRequestDTO> chunk, List<Long> chunkRows, List<BulkUserResultDTO> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<BulkUserResultDTO> chunkResults = userService.createUsers(List.copyOf(chunk));
+        for (int i = 0; i < chunkResults.size(); i++) {
+            BulkUserResultDTO result = chunkResults.get(i);
+            result.setRow(chunkRows.get(i));
+            results.add(result);
+        }
+        chunk.clear();
+        chunkRows.clear();
+    }
+
+    private Map<String, Integer> parseHeader(String line) {
+        List<String> columns;
+        try {
+            columns = CsvUtils.parseLine(line);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Malformed CSV header");
+        }
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!header.keySet().containsAll(List.of("username", "email", "password"))) {
+            throw new BadRequestException("CSV header must contain username, email and password");
+        }
+        return header;
+    }
+
+    private UserRequestDTO fromCsv(Map<String, Integer> header, String line) {
+        List<String> fields = CsvUtils.parseLine(line);
+        if (fields.size() < header.size()) {
+            throw new IllegalArgumentException("Missing columns");
+        }
+        return UserRequestDTO.builder()
+                .username(fields.get(header.get("username")).trim())
+                .email(fields.get(header.get("email")).trim())
+                .password(fields.get(header.get("password")))
+                .build();
+    }
+
+    private String validate(UserRequestDTO userRequestDTO) {
+        if (userRequestDTO.getEmail() == null || userRequestDTO.getEmail().isBlank()) {
+            return "Email is mandatory";
+        }
+        Set<ConstraintViolation<UserRequestDTO>> violations = validator.validate(userRequestDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private BulkUserResultDTO invalid(long row, String username, String message) {
+        return BulkUserResultDTO.builder()
+                .row(row)
+                .username(username)
+                .status(BulkUserStatus.INVALID)
+                .message(message)
+                .build();
+    }
+}
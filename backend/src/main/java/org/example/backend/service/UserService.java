@@ -1,21 +1,26 @@
 package org.example.backend.service;
 
 import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.user.BulkUserResultDTO;
 import org.example.backend.dto.user.UserRequestDTO;
 import org.example.backend.dto.user.UserResponseDTO;
+import org.example.backend.encoder.BoundedPasswordEncoder;
+import org.example.backend.enums.BulkUserStatus;
 import org.example.backend.enums.UserRole;
 import org.example.backend.exception.AlreadyExistsException;
 import org.example.backend.exception.NotFoundException;
+import org.example.backend.exception.ServiceUnavailableException;
 import org.example.backend.mapper.UserMapper;
 import org.example.backend.model.User;
 import org.example.backend.repository.UserRepository;
+import org.example.backend.userDetails.JwtUserPrincipal;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
-import java.util.UUID;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -23,7 +28,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final Argon2PasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
 
     public UserResponseDTO createUser(UserRequestDTO userRequestDTO) {
         if (userRepository.existsByEmail(userRequestDTO.getEmail())) {
@@ -34,13 +39,84 @@ public class UserService {
             throw new AlreadyExistsException("Username already exists");
         }
 
-        User user = userMapper.toEntity(userRequestDTO);
-        user.setRole(UserRole.ROLE_USER);
-        user.setPassword(passwordEncoder.encode(userRequestDTO.getPassword()));
+        User user = toNewUser(userRequestDTO, passwordEncoder.encode(userRequestDTO.getPassword()));
         userRepository.save(user);
         return userMapper.toResponse(user);
     }
 
+    // Bulk variant of createUser: one identity query, parallel hashing and one batched insert per chunk.
+    public List<BulkUserResultDTO> createUsers(List<UserRequestDTO> userRequestDTOs) {
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        userRepository.findIdentities(
+                        userRequestDTOs.stream().map(UserRequestDTO::getUsername).toList(),
+                        userRequestDTOs.stream().map(UserRequestDTO::getEmail).toList())
+                .forEach(identity -> {
+                    takenUsernames.add(normalize(identity.getUsername()));
+                    takenEmails.add(normalize(identity.getEmail()));
+                });
+
+        List<BulkUserResultDTO> results = new ArrayList<>(userRequestDTOs.size());
+        List<UserRequestDTO> accepted = new ArrayList<>();
+        List<BulkUserResultDTO> acceptedResults = new ArrayList<>();
+        for (UserRequestDTO userRequestDTO : userRequestDTOs) {
+            String username = normalize(userRequestDTO.getUsername());
+            String email = normalize(userRequestDTO.getEmail());
+            BulkUserResultDTO result = BulkUserResultDTO.builder()
+                    .username(userRequestDTO.getUsername())
+                    .build();
+
+            if (takenEmails.contains(email)) {
+                reject(result, BulkUserStatus.DUPLICATE, "Email already exists");
+            } else if (takenUsernames.contains(username)) {
+                reject(result, BulkUserStatus.DUPLICATE, "Username already exists");
+            } else {
+                takenUsernames.add(username);
+                takenEmails.add(email);
+                accepted.add(userRequestDTO);
+                acceptedResults.add(result);
+            }
+            results.add(result);
+        }
+
+        if (accepted.isEmpty()) {
+            return results;
+        }
+
+        List<String> encodedPasswords;
+        try {
+            encodedPasswords = encodeAll(accepted.stream().map(UserRequestDTO::getPassword).toList());
+        } catch (ServiceUnavailableException e) {
+            acceptedResults.forEach(result -> reject(result, BulkUserStatus.FAILED, e.getMessage()));
+            return results;
+        }
+
+        List<User> users = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            users.add(toNewUser(accepted.get(i), encodedPasswords.get(i)));
+        }
+
+        try {
+            userRepository.saveAll(users);
+            for (int i = 0; i < users.size(); i++) {
+                markCreated(acceptedResults.get(i), users.get(i));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent registration took a name after the check; retry row by row to find the conflicting rows.
+            for (int i = 0; i < users.size(); i++) {
+                User user = users.get(i);
+                user.setId(null);
+                try {
+                    userRepository.save(user);
+                    markCreated(acceptedResults.get(i), user);
+                } catch (DataIntegrityViolationException ex) {
+                    reject(acceptedResults.get(i), BulkUserStatus.DUPLICATE, "Username or email already exists");
+                }
+            }
+        }
+        return results;
+    }
+
     public Optional<User> getCurrentUser() {
         Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
 
@@ -50,8 +126,46 @@ public class UserService {
         return Optional.empty();
     }
 
+    // Attaches the authenticated user by id from the token claims without selecting the row.
+    public Optional<User> getCurrentUserReference() {
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+
+        if (principal instanceof JwtUserPrincipal jwtUserPrincipal) {
+            return Optional.of(userRepository.getReferenceById(jwtUserPrincipal.getId()));
+        }
+        return getCurrentUser();
+    }
+
     public User checkIfUserExists(UUID userId) {
         return userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException("User was not found"));
     }
+
+    private User toNewUser(UserRequestDTO userRequestDTO, String encodedPassword) {
+        User user = userMapper.toEntity(userRequestDTO);
+        user.setRole(UserRole.ROLE_USER);
+        user.setPassword(encodedPassword);
+        return user;
+    }
+
+    private List<String> encodeAll(List<String> rawPasswords) {
+        if (passwordEncoder instanceof BoundedPasswordEncoder boundedPasswordEncoder) {
+            return boundedPasswordEncoder.encodeAll(rawPasswords);
+        }
+        return rawPasswords.stream().map(passwordEncoder::encode).toList();
+    }
+
+    private static void markCreated(BulkUserResultDTO result, User user) {
+        result.setStatus(BulkUserStatus.CREATED);
+        result.setId(user.getId());
+    }
+
+    private static void reject(BulkUserResultDTO result, BulkUserStatus status, String message) {
+        result.setStatus(status);
+        result.setMessage(message);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,56 @@
+package org.example.backend.userDetails;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.example.backend.dto.token.ParsedTokenDTO;
+import org.example.backend.enums.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@RequiredArgsConstructor
+public class JwtUserPrincipal implements UserDetails {
+
+    private final UUID id;
+    private final String username;
+    private final UserRole role;
+
+    public static JwtUserPrincipal from(ParsedTokenDTO token) {
+        return new JwtUserPrincipal(token.getUserId(), token.getSubject(), token.getRole());
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority(role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.backend.utils;
+
+public class TokenHashUtils {
+
+    public static String sha256(String token) {
+        return HashUtils.sha256Hex(token);
+    }
+}
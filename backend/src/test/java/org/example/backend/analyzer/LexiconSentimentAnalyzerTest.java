@@ -0,0 +1,56 @@
+package org.example.backend.analyzer;
+
+import org.example.backend.enums.SentimentType;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class LexiconSentimentAnalyzerTest {
+
+    private final LexiconSentimentAnalyzer analyzer = new LexiconSentimentAnalyzer();
+
+    @Order(1)
+    @Test
+    @DisplayName("Positive words classify as positive")
+    void testClassify_whenTextIsPositive_returnsPositive() {
+        // Act & Assert
+        assertEquals(SentimentType.POSITIVE, analyzer.classify("Great talk, really helpful. Thanks!"));
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Negative words classify as negative")
+    void testClassify_whenTextIsNegative_returnsNegative() {
+        // Act & Assert
+        assertEquals(SentimentType.NEGATIVE, analyzer.classify("Boring and confusing, the audio was terrible"));
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Negation flips the following words")
+    void testClassify_whenPositiveWordIsNegated_returnsNegative() {
+        // Act & Assert
+        assertEquals(SentimentType.NEGATIVE, analyzer.classify("It wasn't good at all"));
+        assertEquals(SentimentType.POSITIVE, analyzer.classify("Not bad"));
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("Text without known words or with balanced words is neutral")
+    void testClassify_whenNoPolarityFound_returnsNeutral() {
+        // Act & Assert
+        assertEquals(SentimentType.NEUTRAL, analyzer.classify("The session started at 10"));
+        assertEquals(SentimentType.NEUTRAL, analyzer.classify("Good speaker, bad room"));
+        assertEquals(SentimentType.NEUTRAL, analyzer.classify("   "));
+        assertEquals(SentimentType.NEUTRAL, analyzer.classify(null));
+    }
+
+    @Order(5)
+    @Test
+    @DisplayName("Analysis completes immediately")
+    void testAnalyzeSentiment_whenCalled_returnsCompletedFuture() {
+        // Act & Assert
+        assertTrue(analyzer.analyzeSentiment("great").isDone());
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.backend.analyzer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.backend.enums.SentimentType;
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class SentimentResponseParserTest {
+
+    private final SentimentResponseParser parser = new SentimentResponseParser(new ObjectMapper());
+
+    private List<SentimentType> parse(String json) throws IOException {
+        return parser.parse(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("Batched response yields the top label of each prediction in order")
+    void testParse_whenResponseIsBatched_returnsArgmaxPerInput() throws IOException {
+        // Arrange
+        String json = """
+                [[{"label":"positive","score":0.7},{"label":"negative","score":0.2},{"label":"neutral","score":0.1}],
+                 [{"label":"positive","score":0.1},{"label":"negative","score":0.8},{"label":"neutral","score":0.1}],
+                 [{"label":"neutral","score":0.6},{"label":"positive","score":0.4}]]
+                """;
+
+        // Act
+        List<SentimentType> sentiments = parse(json);
+
+        // Assert
+        assertEquals(List.of(SentimentType.POSITIVE, SentimentType.NEGATIVE, SentimentType.NEUTRAL), sentiments);
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Single flat prediction list yields one sentiment")
+    void testParse_whenResponseIsSingle_returnsOneSentiment() throws IOException {
+        // Act
+        List<SentimentType> sentiments = parse("[{\"label\":\"negative\",\"score\":0.3},{\"label\":\"POSITIVE\",\"score\":0.6}]");
+
+        // Assert
+        assertEquals(List.of(SentimentType.POSITIVE), sentiments);
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Field order and unknown fields do not matter")
+    void testParse_whenFieldsAreReorderedOrUnknown_ignoresThem() throws IOException {
+        // Arrange
+        String json = "[[{\"score\":0.9,\"meta\":{\"model\":\"x\",\"tags\":[1,2]},\"label\":\"negative\"},{\"label\":\"positive\",\"score\":0.1}]]";
+
+        // Act
+        List<SentimentType> sentiments = parse(json);
+
+        // Assert
+        assertEquals(List.of(SentimentType.NEGATIVE), sentiments);
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("Unknown labels map to neutral")
+    void testParse_whenLabelIsUnknown_returnsNeutral() throws IOException {
+        // Act & Assert
+        assertEquals(List.of(SentimentType.NEUTRAL), parse("[[{\"label\":\"LABEL_1\",\"score\":0.9}]]"));
+    }
+
+    @Order(5)
+    @Test
+    @DisplayName("Malformed or empty predictions are rejected")
+    void testParse_whenResponseIsMalformed_throws() {
+        // Act & Assert
+        assertThrows(IOException.class, () -> parse("{\"error\":\"Model is loading\"}"));
+        assertThrows(IOException.class, () -> parse("[[]]"));
+        assertThrows(IOException.class, () -> parse("[[{\"label\":\"positive\",\"score\":0.9}"));
+    }
+
+    @Order(6)
+    @Test
+    @DisplayName("Empty batch yields no sentiments")
+    void testParse_whenBatchIsEmpty_returnsEmptyList() throws IOException {
+        // Act & Assert
+        assertEquals(List.of(), parse("[]"));
+    }
+}
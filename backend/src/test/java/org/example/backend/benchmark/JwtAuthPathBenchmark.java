@@ -0,0 +1,84 @@
+package org.example.backend.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.example.backend.dto.token.ParsedTokenDTO;
+import org.example.backend.enums.UserRole;
+import org.example.backend.model.User;
+import org.example.backend.service.JwtService;
+import org.example.backend.userDetails.CustomUserDetails;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Not a unit test. Run after `mvn test-compile` with the test classpath, e.g.
+// mvn dependency:build-classpath -Dmdep.outputFile=cp.txt -Dmdep.includeScope=test
+// java -cp target/test-classes:target/classes:$(cat cp.txt) org.example.backend.benchmark.JwtAuthPathBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthPathBenchmark {
+
+    private static final String BASE64_KEY = "XJz8K7mQ9vR2nL4pY6tH3wE1sA5fD8gB0cN7jU9iO2k=";
+
+    private JwtService jwtService;
+    private CustomUserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "secretKey", BASE64_KEY);
+
+        User user = User.builder()
+                .id(UUID.randomUUID())
+                .username("benchmark")
+                .email("benchmark@email.com")
+                .password("12345678")
+                .role(UserRole.ROLE_USER)
+                .build();
+        userDetails = new CustomUserDetails(user);
+        token = jwtService.generateToken(user);
+    }
+
+    // Mirrors the previous filter: three parses, each with a fresh parser and decoded key.
+    @Benchmark
+    public boolean legacyAuthPath() {
+        String username = legacyClaims(token).getSubject();
+        return username != null
+                && legacyClaims(token).getSubject().equals(userDetails.getUsername())
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean singleParseAuthPath() {
+        ParsedTokenDTO parsed = jwtService.parseToken(token);
+        return parsed.getSubject() != null && jwtService.isTokenValid(parsed, userDetails);
+    }
+
+    private Claims legacyClaims(String jwt) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(BASE64_KEY)))
+                .build()
+                .parseClaimsJws(jwt)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthPathBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
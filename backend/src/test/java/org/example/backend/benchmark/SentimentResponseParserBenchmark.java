@@ -0,0 +1,86 @@
+package org.example.backend.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import org.example.backend.analyzer.SentimentResponseParser;
+import org.example.backend.dto.sentiment.SentimentAiResponseDTO;
+import org.example.backend.enums.SentimentType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Not a unit test. Run after `mvn test-compile` with the test classpath, e.g.
+// mvn dependency:build-classpath -Dmdep.outputFile=cp.txt -Dmdep.includeScope=test
+// java -cp target/test-classes:target/classes:$(cat cp.txt) org.example.backend.benchmark.SentimentResponseParserBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SentimentResponseParserBenchmark {
+
+    private static final String[] LABELS = {"negative", "neutral", "positive"};
+
+    @Param({"1", "16"})
+    private int batchSize;
+
+    private SentimentResponseParser parser;
+    private byte[] response;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        parser = new SentimentResponseParser(mapper);
+
+        ArrayNode predictions = mapper.createArrayNode();
+        for (int i = 0; i < batchSize; i++) {
+            ArrayNode prediction = predictions.addArray();
+            for (int j = 0; j < LABELS.length; j++) {
+                prediction.addObject()
+                        .put("label", LABELS[(i + j) % LABELS.length])
+                        .put("score", (j + 1) / 6.0);
+            }
+        }
+        response = mapper.writeValueAsBytes(predictions);
+    }
+
+    // Mirrors the previous parser: a fresh mapper, a String body and fully materialized DTO lists.
+    @Benchmark
+    public List<SentimentType> legacyParse() throws IOException {
+        String body = new String(response, StandardCharsets.UTF_8);
+        List<List<SentimentAiResponseDTO>> predictions = new ObjectMapper().readValue(body, new TypeReference<>() {
+        });
+        return predictions.stream()
+                .map(prediction -> prediction.stream()
+                        .max(Comparator.comparingDouble(SentimentAiResponseDTO::getScore))
+                        .orElseThrow())
+                .map(best -> switch (best.getLabel().toLowerCase()) {
+                    case "positive" -> SentimentType.POSITIVE;
+                    case "negative" -> SentimentType.NEGATIVE;
+                    default -> SentimentType.NEUTRAL;
+                })
+                .toList();
+    }
+
+    @Benchmark
+    public List<SentimentType> streamingParse() throws IOException {
+        return parser.parse(response);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SentimentResponseParserBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -1,13 +1,13 @@
 package org.example.backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.servlet.http.HttpServletRequest;
 import org.example.backend.dto.login.LoginRequestDTO;
 import org.example.backend.dto.login.LoginResponseDTO;
+import org.example.backend.dto.token.RefreshTokenRequestDTO;
 import org.example.backend.dto.user.UserRequestDTO;
 import org.example.backend.dto.user.UserResponseDTO;
 import org.example.backend.enums.UserRole;
-import org.example.backend.repository.TokenRepository;
+import org.example.backend.exception.UserNotAuthenticatedException;
 import org.example.backend.service.AuthService;
 import org.example.backend.service.JwtService;
 import org.example.backend.service.UserService;
@@ -47,13 +47,11 @@ class AuthControllerTest {
     @MockitoBean
     private JwtService jwtService;
 
-    @MockitoBean
-    private TokenRepository tokenRepository;
-
     private static final String TEST_USERNAME = "Test";
     private static final String TEST_EMAIL = "test@email.com";
     private static final String TEST_PASSWORD = "12345678";
     private static final String TEST_TOKEN = "test-jwt-token";
+    private static final String TEST_REFRESH_TOKEN = "test-refresh-token";
     private static final String BASE_URL = "/api/v1/auth";
 
 
@@ -84,6 +82,13 @@ class AuthControllerTest {
     LoginResponseDTO buildLoginResponseDTO() {
         return LoginResponseDTO.builder()
                 .token(TEST_TOKEN)
+                .refreshToken(TEST_REFRESH_TOKEN)
+                .build();
+    }
+
+    RefreshTokenRequestDTO buildRefreshTokenRequestDTO() {
+        return RefreshTokenRequestDTO.builder()
+                .refreshToken(TEST_REFRESH_TOKEN)
                 .build();
     }
 
@@ -221,39 +226,76 @@ class AuthControllerTest {
 
     @Order(7)
     @Test
-    @DisplayName("Logout user with valid token")
-    void testLogout_whenTokenIsValid_returnCorrectStatus() throws Exception {
+    @DisplayName("Logout user with valid refresh token")
+    void testLogout_whenRefreshTokenIsValid_returnCorrectStatus() throws Exception {
         // Arrange
-        String authHeader = "Bearer %s".formatted(TEST_TOKEN);
-        when(authService.logout(any(HttpServletRequest.class))).thenReturn(ResponseEntity.ok("Logout successful"));
+        String json = new ObjectMapper().writeValueAsString(buildRefreshTokenRequestDTO());
+        when(authService.logout(any(RefreshTokenRequestDTO.class))).thenReturn(ResponseEntity.ok("Logout successful"));
 
         // Act
-        MvcResult mvcResult = mockMvc.perform(buildPostRequest(BASE_URL + "/logout").header("Authorization", authHeader)).andReturn();
+        MvcResult mvcResult = mockMvc.perform(buildPostRequest(BASE_URL + "/logout").content(json)).andReturn();
 
         // Assert
         assertEquals(HttpStatus.OK.value(), mvcResult.getResponse().getStatus());
         assertEquals("Logout successful", mvcResult.getResponse().getContentAsString());
 
         // Verify
-        verify(authService, times(1)).logout(any(HttpServletRequest.class));
+        verify(authService, times(1)).logout(any(RefreshTokenRequestDTO.class));
     }
 
     @Order(8)
     @Test
-    @DisplayName("Logout fails when Authorization header is missing")
-    void testLogout_whenAuthorizationHeaderIsMissing_returnsBadRequest() throws Exception {
+    @DisplayName("Logout fails when refresh token is missing")
+    void testLogout_whenRefreshTokenIsMissing_returnsBadRequest() throws Exception {
         // Arrange
-        when(authService.logout(any(HttpServletRequest.class)))
-                .thenReturn(ResponseEntity.badRequest().body("Missing or invalid Authorization header"));
+        String json = new ObjectMapper().writeValueAsString(new RefreshTokenRequestDTO(" "));
 
         // Act
-        MvcResult mvcResult = mockMvc.perform(buildPostRequest(BASE_URL + "/logout")).andReturn();
+        MvcResult mvcResult = mockMvc.perform(buildPostRequest(BASE_URL + "/logout").content(json)).andReturn();
 
         // Assert
         assertEquals(HttpStatus.BAD_REQUEST.value(), mvcResult.getResponse().getStatus());
-        assertEquals("Missing or invalid Authorization header", mvcResult.getResponse().getContentAsString());
 
         // Verify
-        verify(authService, times(1)).logout(any(HttpServletRequest.class));
+        verify(authService, never()).logout(any(RefreshTokenRequestDTO.class));
+    }
+
+    @Order(9)
+    @Test
+    @DisplayName("Refresh returns a new token pair")
+    void testRefreshToken_whenRefreshTokenIsValid_returnsTokens() throws Exception {
+        // Arrange
+        LoginResponseDTO response = buildLoginResponseDTO();
+        String json = new ObjectMapper().writeValueAsString(buildRefreshTokenRequestDTO());
+        when(authService.refreshToken(any(RefreshTokenRequestDTO.class))).thenReturn(response);
+
+        // Act
+        MvcResult mvcResult = mockMvc.perform(buildPostRequest(BASE_URL + "/refresh").content(json)).andReturn();
+        LoginResponseDTO refreshed = new ObjectMapper()
+                .readValue(mvcResult.getResponse().getContentAsString(), LoginResponseDTO.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK.value(), mvcResult.getResponse().getStatus());
+        assertEquals(TEST_TOKEN, refreshed.getToken());
+        assertEquals(TEST_REFRESH_TOKEN, refreshed.getRefreshToken());
+
+        // Verify
+        verify(authService, times(1)).refreshToken(any(RefreshTokenRequestDTO.class));
+    }
+
+    @Order(10)
+    @Test
+    @DisplayName("Refresh with a rejected refresh token")
+    void testRefreshToken_whenRefreshTokenIsRejected_returnsUnauthorized() throws Exception {
+        // Arrange
+        String json = new ObjectMapper().writeValueAsString(buildRefreshTokenRequestDTO());
+        when(authService.refreshToken(any(RefreshTokenRequestDTO.class)))
+                .thenThrow(new UserNotAuthenticatedException("Invalid refresh token"));
+
+        // Act
+        MvcResult mvcResult = mockMvc.perform(buildPostRequest(BASE_URL + "/refresh").content(json)).andReturn();
+
+        // Assert
+        assertEquals(HttpStatus.UNAUTHORIZED.value(), mvcResult.getResponse().getStatus());
     }
-}
\ No newline at end of file
+}
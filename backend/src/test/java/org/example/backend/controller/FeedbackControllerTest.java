@@ -9,6 +9,7 @@ import org.example.backend.exception.NotFoundException;
 import org.example.backend.filter.JwtAuthenticationFilter;
 import org.example.backend.repository.TokenRepository;
 import org.example.backend.service.AuthService;
+import org.example.backend.service.FeedbackIngestionService;
 import org.example.backend.service.FeedbackService;
 import org.example.backend.service.JwtService;
 import org.junit.jupiter.api.*;
@@ -42,6 +43,9 @@ class FeedbackControllerTest {
     @MockitoBean
     private FeedbackService feedbackService;
 
+    @MockitoBean
+    private FeedbackIngestionService feedbackIngestionService;
+
     @MockitoBean
     private JwtService jwtService;
 
@@ -211,4 +215,45 @@ class FeedbackControllerTest {
         // Verify
         verify(feedbackService, times(1)).getFeedbackByEventId(invalidId);
     }
+
+    @Order(7)
+    @Test
+    @DisplayName("Write-behind submit that is not yet committed is acknowledged as accepted")
+    void testSubmitFeedback_whenWriteBehindIsBuffered_returnsAccepted() throws Exception {
+        // Arrange
+        FeedbackRequestDTO request = setupFeedbackRequest();
+        FeedbackResponseDTO response = setupFeedbackResponse();
+        when(feedbackIngestionService.isEnabled()).thenReturn(true);
+        when(feedbackIngestionService.submitFeedback(TEST_EVENT_ID, request))
+                .thenReturn(new FeedbackIngestionService.Submission(response, false));
+
+        String json = objectMapper.writeValueAsString(request);
+
+        // Act & Assert
+        mockMvc.perform(setupPostRequest("%s/%s/feedback".formatted(BASE_URL, TEST_EVENT_ID)).content(json))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(response.getId().toString()));
+
+        // Verify
+        verify(feedbackService, never()).submitFeedback(any(UUID.class), any(FeedbackRequestDTO.class));
+    }
+
+    @Order(8)
+    @Test
+    @DisplayName("Committed write-behind submit is returned as created")
+    void testSubmitFeedback_whenWriteBehindIsCommitted_returnsCreated() throws Exception {
+        // Arrange
+        FeedbackRequestDTO request = setupFeedbackRequest();
+        FeedbackResponseDTO response = setupFeedbackResponse();
+        when(feedbackIngestionService.isEnabled()).thenReturn(true);
+        when(feedbackIngestionService.submitFeedback(TEST_EVENT_ID, request))
+                .thenReturn(new FeedbackIngestionService.Submission(response, true));
+
+        String json = objectMapper.writeValueAsString(request);
+
+        // Act & Assert
+        mockMvc.perform(setupPostRequest("%s/%s/feedback".formatted(BASE_URL, TEST_EVENT_ID)).content(json))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(response.getId().toString()));
+    }
 }
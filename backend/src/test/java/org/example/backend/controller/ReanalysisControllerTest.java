@@ -0,0 +1,144 @@
+package org.example.backend.controller;
+
+import jakarta.servlet.ServletException;
+import org.example.backend.config.CorsConfig;
+import org.example.backend.config.SecurityConfig;
+import org.example.backend.dto.reanalysis.ReanalysisProgressDTO;
+import org.example.backend.enums.ReanalysisStatus;
+import org.example.backend.exception.AlreadyExistsException;
+import org.example.backend.filter.JwtAuthenticationFilter;
+import org.example.backend.service.JwtService;
+import org.example.backend.service.ReanalysisService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = ReanalysisController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Import(SecurityConfig.class)
+class ReanalysisControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private ReanalysisService reanalysisService;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @MockitoBean
+    private AuthenticationProvider authenticationProvider;
+
+    @MockitoBean
+    private CorsConfig corsConfig;
+
+    private static final String REANALYSIS_URL = "/api/v1/reanalysis";
+    private static final UUID EVENT_ID = UUID.randomUUID();
+    private static final UUID JOB_ID = UUID.randomUUID();
+
+    ReanalysisProgressDTO setupProgress(ReanalysisStatus status) {
+        return ReanalysisProgressDTO.builder()
+                .jobId(JOB_ID)
+                .eventId(EVENT_ID)
+                .status(status)
+                .processedCount(200)
+                .build();
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("Admin can start a re-analysis for one event")
+    @WithMockUser(value = "test-admin", roles = {"ADMIN"})
+    void testStartReanalysis_whenAdminGivesEvent_returnsAccepted() throws Exception {
+        // Arrange
+        when(reanalysisService.startReanalysis(EVENT_ID)).thenReturn(setupProgress(ReanalysisStatus.RUNNING));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.post(REANALYSIS_URL).param("eventId", EVENT_ID.toString()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value(JOB_ID.toString()))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+
+        // Verify
+        verify(reanalysisService, times(1)).startReanalysis(EVENT_ID);
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Starting without an event rescores every event")
+    @WithMockUser(value = "test-admin", roles = {"ADMIN"})
+    void testStartReanalysis_whenNoEventIsGiven_startsForAllEvents() throws Exception {
+        // Arrange
+        when(reanalysisService.startReanalysis(null)).thenReturn(setupProgress(ReanalysisStatus.RUNNING));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.post(REANALYSIS_URL))
+                .andExpect(status().isAccepted());
+
+        // Verify
+        verify(reanalysisService, times(1)).startReanalysis(null);
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Starting while another job runs returns conflict")
+    @WithMockUser(value = "test-admin", roles = {"ADMIN"})
+    void testStartReanalysis_whenJobIsRunning_returnsConflict() throws Exception {
+        // Arrange
+        when(reanalysisService.startReanalysis(null)).thenThrow(new AlreadyExistsException("A re-analysis job is already running"));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.post(REANALYSIS_URL))
+                .andExpect(status().isConflict());
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("Admin can resume and inspect a job")
+    @WithMockUser(value = "test-admin", roles = {"ADMIN"})
+    void testResumeReanalysis_whenJobWasInterrupted_returnsProgress() throws Exception {
+        // Arrange
+        when(reanalysisService.resumeReanalysis(JOB_ID)).thenReturn(setupProgress(ReanalysisStatus.RUNNING));
+        when(reanalysisService.getReanalysis(JOB_ID)).thenReturn(setupProgress(ReanalysisStatus.RUNNING));
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.post(REANALYSIS_URL + "/" + JOB_ID + "/resume"))
+                .andExpect(status().isAccepted());
+        mockMvc.perform(MockMvcRequestBuilders.get(REANALYSIS_URL + "/" + JOB_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.processedCount").value(200));
+    }
+
+    @Order(5)
+    @Test
+    @DisplayName("Re-analysis fails without admin role")
+    @WithMockUser(value = "test-user", roles = {"USER"})
+    void testStartReanalysis_whenUserIsNotAdmin_accessIsDenied() {
+        // Act & Assert
+        var thrown = assertThrows(ServletException.class,
+                () -> mockMvc.perform(MockMvcRequestBuilders.post(REANALYSIS_URL)).andReturn());
+
+        // Verify
+        verifyNoInteractions(reanalysisService);
+        assertInstanceOf(AuthorizationDeniedException.class, thrown.getCause());
+    }
+}
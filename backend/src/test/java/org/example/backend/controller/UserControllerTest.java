@@ -0,0 +1,128 @@
+package org.example.backend.controller;
+
+import jakarta.servlet.ServletException;
+import org.example.backend.config.CorsConfig;
+import org.example.backend.config.SecurityConfig;
+import org.example.backend.dto.user.BulkUserResponseDTO;
+import org.example.backend.dto.user.BulkUserResultDTO;
+import org.example.backend.enums.BulkUserStatus;
+import org.example.backend.filter.JwtAuthenticationFilter;
+import org.example.backend.service.JwtService;
+import org.example.backend.service.UserImportService;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authorization.AuthorizationDeniedException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = UserController.class)
+@AutoConfigureMockMvc(addFilters = false)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Import(SecurityConfig.class)
+class UserControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private UserImportService userImportService;
+
+    @MockitoBean
+    private JwtService jwtService;
+
+    @MockitoBean
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @MockitoBean
+    private AuthenticationProvider authenticationProvider;
+
+    @MockitoBean
+    private CorsConfig corsConfig;
+
+    private static final String BULK_URL = "/api/v1/users/bulk";
+    private static final String NDJSON_BODY = """
+            {"username":"first","email":"first@email.com","password":"12345678"}
+            """;
+
+    BulkUserResponseDTO setupBulkResponse() {
+        return BulkUserResponseDTO.builder()
+                .created(1)
+                .failed(0)
+                .results(List.of(BulkUserResultDTO.builder()
+                        .row(1)
+                        .username("first")
+                        .status(BulkUserStatus.CREATED)
+                        .id(UUID.randomUUID())
+                        .build()))
+                .build();
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("Admin can bulk register users from NDJSON")
+    @WithMockUser(value = "test-admin", roles = {"ADMIN"})
+    void testImportUsers_whenAdminUploadsNdjson_returnsPerRowResults() throws Exception {
+        // Arrange
+        when(userImportService.importUsers(any(InputStream.class), any(MediaType.class))).thenReturn(setupBulkResponse());
+
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.post(BULK_URL)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(NDJSON_BODY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].row").value(1))
+                .andExpect(jsonPath("$.results[0].status").value("CREATED"));
+
+        // Verify
+        verify(userImportService, times(1)).importUsers(any(InputStream.class), eq(MediaType.APPLICATION_NDJSON));
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Bulk registration is rejected for an unsupported content type")
+    @WithMockUser(value = "test-admin", roles = {"ADMIN"})
+    void testImportUsers_whenContentTypeIsJson_returnsUnsupportedMediaType() throws Exception {
+        // Act & Assert
+        mockMvc.perform(MockMvcRequestBuilders.post(BULK_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+
+        // Verify
+        verifyNoInteractions(userImportService);
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Bulk registration fails without admin role")
+    @WithMockUser(value = "test-user", roles = {"USER"})
+    void testImportUsers_whenUserIsNotAdmin_accessIsDenied() {
+        // Act & Assert
+        var thrown = assertThrows(ServletException.class,
+                () -> mockMvc.perform(MockMvcRequestBuilders.post(BULK_URL)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(NDJSON_BODY)).andReturn());
+
+        // Verify
+        verifyNoInteractions(userImportService);
+        assertInstanceOf(AuthorizationDeniedException.class, thrown.getCause());
+    }
+}
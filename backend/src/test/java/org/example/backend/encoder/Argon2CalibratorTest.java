@@ -0,0 +1,88 @@
+package org.example.backend.encoder;
+
+import org.junit.jupiter.api.*;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class Argon2CalibratorTest {
+
+    private static final String TEST_PASSWORD = "12345678";
+
+    @Order(1)
+    @Test
+    @DisplayName("Calibration stays within configured bounds")
+    void testCalibrate_whenBudgetIsSmall_returnsParametersWithinBounds() {
+        // Act
+        CalibratedArgon2PasswordEncoder encoder = Argon2Calibrator.calibrate(19456, 2, 19456, 3, 1);
+
+        // Assert
+        assertEquals(19456, encoder.getMemoryKib());
+        assertTrue(encoder.getIterations() >= 2 && encoder.getIterations() <= 3);
+        assertTrue(encoder.matches(TEST_PASSWORD, encoder.encode(TEST_PASSWORD)));
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Hash with current parameters is not upgraded")
+    void testUpgradeEncoding_whenParametersMatch_returnsFalse() {
+        // Arrange
+        CalibratedArgon2PasswordEncoder encoder = new CalibratedArgon2PasswordEncoder(19456, 2);
+        String hash = encoder.encode(TEST_PASSWORD);
+
+        // Act & Assert
+        assertFalse(encoder.upgradeEncoding(hash));
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Hash with a lower cost is upgraded")
+    void testUpgradeEncoding_whenStoredCostIsLower_returnsTrue() {
+        // Arrange
+        CalibratedArgon2PasswordEncoder encoder = new CalibratedArgon2PasswordEncoder(19456, 2);
+        String legacyHash = new Argon2PasswordEncoder(16, 32, 1, 19456, 1).encode(TEST_PASSWORD);
+
+        // Act & Assert
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+        assertTrue(encoder.matches(TEST_PASSWORD, legacyHash));
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("Unrecognised hash is left alone")
+    void testUpgradeEncoding_whenHashIsNotArgon2_returnsFalse() {
+        // Arrange
+        CalibratedArgon2PasswordEncoder encoder = new CalibratedArgon2PasswordEncoder(19456, 2);
+
+        // Act & Assert
+        assertFalse(encoder.upgradeEncoding("not-a-hash"));
+        assertFalse(encoder.upgradeEncoding(null));
+    }
+
+    @Order(5)
+    @Test
+    @DisplayName("Hash with a higher or equal cost is not downgraded")
+    void testUpgradeEncoding_whenStoredCostIsHigherOrEqual_returnsFalse() {
+        // Arrange
+        CalibratedArgon2PasswordEncoder encoder = new CalibratedArgon2PasswordEncoder(19456, 2);
+        String strongerHash = new Argon2PasswordEncoder(16, 32, 1, 19456, 3).encode(TEST_PASSWORD);
+        String sameCostHash = new Argon2PasswordEncoder(16, 32, 1, 9728, 4).encode(TEST_PASSWORD);
+
+        // Act & Assert
+        assertFalse(encoder.upgradeEncoding(strongerHash));
+        assertFalse(encoder.upgradeEncoding(sameCostHash));
+    }
+
+    @Order(6)
+    @Test
+    @DisplayName("Calibration never goes below the configured minimums")
+    void testCalibrate_whenBoundsAreBelowMinimums_keepsMinimums() {
+        // Act
+        CalibratedArgon2PasswordEncoder encoder = Argon2Calibrator.calibrate(38912, 3, 19456, 2, 1);
+
+        // Assert
+        assertEquals(38912, encoder.getMemoryKib());
+        assertEquals(3, encoder.getIterations());
+    }
+}
@@ -0,0 +1,110 @@
+package org.example.backend.encoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.*;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class BoundedPasswordEncoderTest {
+
+    private PasswordEncoder delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder passwordEncoder;
+
+    private static final String TEST_PASSWORD = "12345678";
+    private static final String TEST_HASH = "encoded-password";
+
+    @BeforeEach
+    void setup() {
+        delegate = mock(PasswordEncoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new BoundedPasswordEncoder(delegate, 1, 1, 2_000L, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordEncoder.destroy();
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("Encodes and matches through the delegate")
+    void testEncodeAndMatches_whenPoolHasCapacity_delegates() {
+        // Arrange
+        when(delegate.encode(TEST_PASSWORD)).thenReturn(TEST_HASH);
+        when(delegate.matches(TEST_PASSWORD, TEST_HASH)).thenReturn(true);
+
+        // Act & Assert
+        assertEquals(TEST_HASH, passwordEncoder.encode(TEST_PASSWORD));
+        assertTrue(passwordEncoder.matches(TEST_PASSWORD, TEST_HASH));
+        assertEquals(2, meterRegistry.get("password.hash").timer().count());
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Rejects immediately when pool and queue are full")
+    void testEncode_whenPoolAndQueueAreFull_throwsServiceUnavailableException() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return TEST_HASH;
+        });
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode(TEST_PASSWORD));
+        await().until(() -> meterRegistry.get("password.hash.active").gauge().value() == 1.0);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode(TEST_PASSWORD));
+        await().until(() -> meterRegistry.get("password.hash.queue").gauge().value() == 1.0);
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> passwordEncoder.encode(TEST_PASSWORD));
+        assertEquals(1.0, meterRegistry.get("password.hash.rejected").counter().count());
+
+        release.countDown();
+        assertEquals(TEST_HASH, running.get(5, TimeUnit.SECONDS));
+        assertEquals(TEST_HASH, queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Gives up when the hash is not done within the wait limit")
+    void testMatches_whenWaitLimitExceeded_throwsServiceUnavailableException() {
+        // Arrange
+        passwordEncoder.destroy();
+        passwordEncoder = new BoundedPasswordEncoder(delegate, 1, 1, 50L, meterRegistry);
+        when(delegate.matches(any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(1_000L);
+            return true;
+        });
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> passwordEncoder.matches(TEST_PASSWORD, TEST_HASH));
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("Batch hashing never overflows the queue and keeps input order")
+    void testEncodeAll_whenBatchExceedsQueue_encodesAllInOrder() {
+        // Arrange
+        when(delegate.encode(any())).thenAnswer(invocation -> "hash-" + invocation.getArgument(0));
+
+        // Act
+        List<String> encoded = passwordEncoder.encodeAll(List.of("a", "b", "c", "d", "e"));
+
+        // Assert
+        assertEquals(List.of("hash-a", "hash-b", "hash-c", "hash-d", "hash-e"), encoded);
+        assertEquals(0.0, meterRegistry.get("password.hash.rejected").counter().count());
+        assertEquals(5, meterRegistry.get("password.hash").timer().count());
+    }
+}
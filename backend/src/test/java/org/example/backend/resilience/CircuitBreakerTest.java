@@ -0,0 +1,124 @@
+package org.example.backend.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.enums.CircuitState;
+import org.junit.jupiter.api.*;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private TestClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new TestClock();
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new CircuitBreaker("test", 3, OPEN_DURATION, clock, meterRegistry);
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("Circuit stays closed below the failure threshold")
+    void testOnFailure_whenBelowThreshold_staysClosed() {
+        // Act
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Success resets the consecutive failure count")
+    void testOnSuccess_whenFailuresWereRecorded_resetsCount() {
+        // Act
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Circuit opens at the threshold and rejects calls")
+    void testTryAcquire_whenCircuitIsOpen_rejects() {
+        // Arrange
+        openCircuit();
+
+        // Act & Assert
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+        assertEquals(1.0, meterRegistry.get("circuit.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("circuit.state").tag("state", "open").gauge().value());
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("After the open duration only one trial call is let through")
+    void testTryAcquire_whenOpenDurationPassed_allowsSingleTrial() {
+        // Arrange
+        openCircuit();
+        clock.advance(OPEN_DURATION);
+
+        // Act & Assert
+        assertTrue(circuitBreaker.tryAcquire());
+        assertEquals(CircuitState.HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+    }
+
+    @Order(5)
+    @Test
+    @DisplayName("Successful trial closes the circuit")
+    void testOnSuccess_whenTrialSucceeds_closesCircuit() {
+        // Arrange
+        openCircuit();
+        clock.advance(OPEN_DURATION);
+        circuitBreaker.tryAcquire();
+
+        // Act
+        circuitBreaker.onSuccess();
+
+        // Assert
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    @Order(6)
+    @Test
+    @DisplayName("Failed trial opens the circuit for another period")
+    void testOnFailure_whenTrialFails_reopensCircuit() {
+        // Arrange
+        openCircuit();
+        clock.advance(OPEN_DURATION);
+        circuitBreaker.tryAcquire();
+
+        // Act
+        circuitBreaker.onFailure();
+
+        // Assert
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquire());
+        clock.advance(OPEN_DURATION);
+        assertTrue(circuitBreaker.tryAcquire());
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.onFailure();
+        }
+    }
+}
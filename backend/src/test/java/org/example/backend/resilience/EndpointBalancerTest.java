@@ -0,0 +1,99 @@
+package org.example.backend.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class EndpointBalancerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private EndpointBalancer balancer;
+    private EndpointBalancer.Endpoint first;
+    private EndpointBalancer.Endpoint second;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        balancer = new EndpointBalancer(List.of("http://first", " http://second "), meterRegistry);
+        first = balancer.getEndpoints().get(0);
+        second = balancer.getEndpoints().get(1);
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("Endpoints without history keep their configured order")
+    void testRanked_whenNoCallsWereMade_keepsConfiguredOrder() {
+        // Act
+        List<EndpointBalancer.Endpoint> ranked = balancer.ranked();
+
+        // Assert
+        assertEquals(List.of(first, second), ranked);
+        assertEquals("http://second", second.getUrl());
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Endpoint with lower EWMA latency is ranked first")
+    void testRanked_whenOneEndpointIsSlower_prefersFasterEndpoint() {
+        // Arrange
+        first.record(Duration.ofMillis(500));
+        second.record(Duration.ofMillis(20));
+
+        // Act
+        List<EndpointBalancer.Endpoint> ranked = balancer.ranked();
+
+        // Assert
+        assertEquals(second, ranked.getFirst());
+        assertEquals(180.0, first.getLatencyMillis(), 0.001);
+        assertEquals(84.0, second.getLatencyMillis(), 0.001);
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Outstanding requests push an endpoint down the ranking")
+    void testRanked_whenEndpointIsBusy_prefersIdleEndpoint() {
+        // Arrange
+        first.start();
+        first.start();
+
+        // Act
+        List<EndpointBalancer.Endpoint> ranked = balancer.ranked();
+
+        // Assert
+        assertEquals(second, ranked.getFirst());
+        assertEquals(2.0, meterRegistry.get("ai.endpoint.outstanding").tag("endpoint", "http://first").gauge().value());
+
+        // Verify
+        first.release();
+        first.release();
+        assertEquals(first, balancer.ranked().getFirst());
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("p95 estimate grows with latency variance")
+    void testP95Estimate_whenLatencyVaries_exceedsMean() {
+        // Arrange
+        first.record(Duration.ofMillis(10));
+        first.record(Duration.ofMillis(400));
+
+        // Act
+        Duration p95 = first.p95Estimate();
+
+        // Assert
+        assertTrue(p95.toMillis() > first.getLatencyMillis());
+    }
+
+    @Order(5)
+    @Test
+    @DisplayName("Balancer requires at least one endpoint")
+    void testConstructor_whenNoEndpoints_throws() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new EndpointBalancer(List.of(), meterRegistry));
+    }
+}
@@ -0,0 +1,140 @@
+package org.example.backend.resilience;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.*;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class RateGovernorTest {
+
+    private TestClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private RateGovernor rateGovernor;
+
+    @BeforeEach
+    void setUp() {
+        clock = new TestClock();
+        meterRegistry = new SimpleMeterRegistry();
+        rateGovernor = new RateGovernor("test", 10, 2, Duration.ofSeconds(1), Duration.ofSeconds(2), clock, meterRegistry);
+    }
+
+    private double count(String name) {
+        return meterRegistry.get(name).tag("name", "test").counter().count();
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("Requests within the burst are allowed immediately")
+    void testReserve_whenWithinBurst_allowsWithoutWaiting() {
+        // Act
+        Optional<Duration> first = rateGovernor.reserve();
+        Optional<Duration> second = rateGovernor.reserve();
+
+        // Assert
+        assertEquals(Optional.of(Duration.ZERO), first);
+        assertEquals(Optional.of(Duration.ZERO), second);
+        assertEquals(2.0, count("quota.allowed"));
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Requests beyond the burst wait for the next slot")
+    void testReserve_whenBurstIsUsed_delaysByInterval() {
+        // Arrange
+        rateGovernor.reserve();
+        rateGovernor.reserve();
+
+        // Act
+        Optional<Duration> third = rateGovernor.reserve();
+        Optional<Duration> fourth = rateGovernor.reserve();
+
+        // Assert
+        assertEquals(Optional.of(Duration.ofMillis(100)), third);
+        assertEquals(Optional.of(Duration.ofMillis(200)), fourth);
+        assertEquals(2.0, count("quota.delayed"));
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Tokens refill as time passes")
+    void testReserve_whenTimePasses_refillsBucket() {
+        // Arrange
+        rateGovernor.reserve();
+        rateGovernor.reserve();
+        clock.advance(Duration.ofMillis(200));
+
+        // Act & Assert
+        assertEquals(Optional.of(Duration.ZERO), rateGovernor.reserve());
+        assertEquals(Optional.of(Duration.ZERO), rateGovernor.reserve());
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("Wait longer than the max wait is rejected without taking a slot")
+    void testReserve_whenWaitExceedsMax_rejects() {
+        // Arrange
+        rateGovernor.onThrottled(Duration.ofSeconds(5));
+
+        // Act
+        Optional<Duration> reservation = rateGovernor.reserve();
+
+        // Assert
+        assertTrue(reservation.isEmpty());
+        assertEquals(1.0, count("quota.rejected"));
+
+        // Verify
+        clock.advance(Duration.ofSeconds(5));
+        assertEquals(Optional.of(Duration.ZERO), rateGovernor.reserve());
+    }
+
+    @Order(5)
+    @Test
+    @DisplayName("Throttling pauses callers for Retry-After and halves the rate")
+    void testOnThrottled_whenRetryAfterIsGiven_pausesAndSlowsDown() {
+        // Act
+        rateGovernor.onThrottled(Duration.ofMillis(500));
+
+        // Assert
+        assertEquals(Optional.of(Duration.ofMillis(500)), rateGovernor.reserve());
+        assertEquals(5.0, rateGovernor.getRate());
+        assertEquals(5.0, meterRegistry.get("quota.rate").tag("name", "test").gauge().value());
+    }
+
+    @Order(6)
+    @Test
+    @DisplayName("Throttling without Retry-After uses the default pause")
+    void testOnThrottled_whenNoRetryAfter_usesDefaultPause() {
+        // Act
+        rateGovernor.onThrottled();
+
+        // Assert
+        assertTrue(rateGovernor.reserve().isEmpty());
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(Optional.of(Duration.ofSeconds(1)), rateGovernor.reserve());
+    }
+
+    @Order(7)
+    @Test
+    @DisplayName("Rate recovers on success but never exceeds the quota")
+    void testOnSuccess_whenThrottledBefore_recoversToQuota() {
+        // Arrange
+        rateGovernor.onThrottled(Duration.ZERO);
+        rateGovernor.onThrottled(Duration.ZERO);
+        rateGovernor.onThrottled(Duration.ZERO);
+        rateGovernor.onThrottled(Duration.ZERO);
+
+        // Act
+        double floor = rateGovernor.getRate();
+        for (int i = 0; i < 100; i++) {
+            rateGovernor.onSuccess();
+        }
+
+        // Assert
+        assertEquals(1.0, floor);
+        assertEquals(10.0, rateGovernor.getRate());
+    }
+}
@@ -0,0 +1,226 @@
+package org.example.backend.scheduling;
+
+import org.example.backend.enums.QueueAdmission;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class FairQueueTest {
+
+    private static final UUID KEYNOTE = UUID.randomUUID();
+    private static final UUID WORKSHOP = UUID.randomUUID();
+    private static final UUID MEETUP = UUID.randomUUID();
+
+    private List<String> drain(FairQueue<String> queue, int count) throws InterruptedException {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(queue.take());
+        }
+        return items;
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("Items of a single key come out in FIFO order")
+    void testTake_whenSingleKey_returnsFifoOrder() throws InterruptedException {
+        // Arrange
+        FairQueue<String> queue = new FairQueue<>(10, 10);
+        queue.offer(KEYNOTE, null, "a");
+        queue.offer(KEYNOTE, null, "b");
+        queue.offer(KEYNOTE, null, "c");
+
+        // Act & Assert
+        assertEquals(List.of("a", "b", "c"), drain(queue, 3));
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Keys take turns regardless of how much each one has queued")
+    void testTake_whenOneKeyHasBacklog_interleavesOtherKeys() throws InterruptedException {
+        // Arrange
+        FairQueue<String> queue = new FairQueue<>(100, 100);
+        for (int i = 0; i < 50; i++) {
+            queue.offer(KEYNOTE, null, "keynote-" + i);
+        }
+        queue.offer(WORKSHOP, null, "workshop-0");
+        queue.offer(WORKSHOP, null, "workshop-1");
+        queue.offer(MEETUP, null, "meetup-0");
+
+        // Act
+        List<String> items = drain(queue, 6);
+
+        // Assert
+        assertEquals(List.of("keynote-0", "workshop-0", "meetup-0", "keynote-1", "workshop-1", "keynote-2"), items);
+        assertEquals(1, queue.activeKeys());
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Full queue rejects further items")
+    void testOffer_whenQueueIsFull_returnsQueueFull() {
+        // Arrange
+        FairQueue<String> queue = new FairQueue<>(2, 10);
+        queue.offer(KEYNOTE, null, "a");
+        queue.offer(WORKSHOP, null, "b");
+
+        // Act
+        QueueAdmission admission = queue.offer(MEETUP, null, "c");
+
+        // Assert
+        assertEquals(QueueAdmission.QUEUE_FULL, admission);
+        assertTrue(queue.isFull());
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("Owner over the cap is rejected until one of its items is taken")
+    void testOffer_whenOwnerIsCapped_rejectsOnlyThatOwner() throws InterruptedException {
+        // Arrange
+        UUID flooding = UUID.randomUUID();
+        FairQueue<String> queue = new FairQueue<>(10, 2);
+        queue.offer(KEYNOTE, flooding, "a");
+        queue.offer(WORKSHOP, flooding, "b");
+
+        // Act
+        QueueAdmission capped = queue.offer(KEYNOTE, flooding, "c");
+        QueueAdmission other = queue.offer(KEYNOTE, UUID.randomUUID(), "d");
+        queue.take();
+        QueueAdmission afterTake = queue.offer(KEYNOTE, flooding, "e");
+
+        // Assert
+        assertEquals(QueueAdmission.OWNER_CAPPED, capped);
+        assertEquals(QueueAdmission.ACCEPTED, other);
+        assertEquals(QueueAdmission.ACCEPTED, afterTake);
+    }
+
+    @Order(5)
+    @Test
+    @DisplayName("Oldest item is found across keys")
+    void testOldest_whenSeveralKeysQueued_returnsEarliestOffered() throws InterruptedException {
+        // Arrange
+        FairQueue<String> queue = new FairQueue<>(10, 10);
+        queue.offer(KEYNOTE, null, "first");
+        queue.offer(WORKSHOP, null, "second");
+        queue.offer(KEYNOTE, null, "third");
+
+        // Act
+        queue.take();
+
+        // Assert
+        assertEquals(Optional.of("second"), queue.oldest());
+    }
+
+    @Order(6)
+    @Test
+    @DisplayName("Take blocks until an item arrives and items without a key share one queue")
+    void testTake_whenEmpty_waitsForOffer() throws Exception {
+        // Arrange
+        FairQueue<String> queue = new FairQueue<>(10, 10);
+        CompletableFuture<String> taken = CompletableFuture.supplyAsync(() -> {
+            try {
+                return queue.take();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        // Act
+        Thread.sleep(50);
+        assertFalse(taken.isDone());
+        queue.offer(null, null, "unkeyed");
+
+        // Assert
+        assertEquals("unkeyed", taken.get(5, TimeUnit.SECONDS));
+        assertEquals(0, queue.size());
+    }
+
+    @Order(7)
+    @Test
+    @DisplayName("Clear empties every key and reports how much was dropped")
+    void testClear_whenItemsQueued_returnsDroppedCount() {
+        // Arrange
+        FairQueue<String> queue = new FairQueue<>(10, 1);
+        UUID owner = UUID.randomUUID();
+        queue.offer(KEYNOTE, owner, "a");
+        queue.offer(WORKSHOP, null, "b");
+
+        // Act
+        int cleared = queue.clear();
+
+        // Assert
+        assertEquals(2, cleared);
+        assertEquals(0, queue.size());
+        assertEquals(Optional.empty(), queue.oldest());
+        assertEquals(QueueAdmission.ACCEPTED, queue.offer(KEYNOTE, owner, "c"));
+    }
+
+    @Order(8)
+    @Test
+    @DisplayName("Key over its cap is rejected while other keys and unkeyed items are still accepted")
+    void testOffer_whenKeyIsCapped_rejectsOnlyThatKey() throws InterruptedException {
+        // Arrange
+        FairQueue<String> queue = new FairQueue<>(10, 2, 10);
+        queue.offer(KEYNOTE, null, "a");
+        queue.offer(KEYNOTE, null, "b");
+
+        // Act
+        QueueAdmission capped = queue.offer(KEYNOTE, null, "c");
+        QueueAdmission other = queue.offer(WORKSHOP, null, "d");
+        QueueAdmission unkeyed = queue.offer(null, null, "e");
+        queue.take();
+        QueueAdmission afterTake = queue.offer(KEYNOTE, null, "f");
+
+        // Assert
+        assertEquals(QueueAdmission.KEY_CAPPED, capped);
+        assertEquals(QueueAdmission.ACCEPTED, other);
+        assertEquals(QueueAdmission.ACCEPTED, unkeyed);
+        assertEquals(QueueAdmission.ACCEPTED, afterTake);
+    }
+
+    @Order(9)
+    @Test
+    @DisplayName("Keys share turns by cost, so a key of expensive items gets fewer of them per turn")
+    void testTake_whenItemsHaveCosts_sharesByDeficit() throws InterruptedException {
+        // Arrange
+        FairQueue<String> queue = new FairQueue<>(100, 100, 100, 4, String::length);
+        for (int i = 0; i < 3; i++) {
+            queue.offer(KEYNOTE, null, "kkkk");
+        }
+        for (int i = 0; i < 6; i++) {
+            queue.offer(WORKSHOP, null, "w" + i);
+        }
+
+        // Act
+        List<String> items = drain(queue, 6);
+
+        // Assert
+        assertEquals(List.of("kkkk", "w0", "w1", "kkkk", "w2", "w3"), items);
+    }
+
+    @Order(10)
+    @Test
+    @DisplayName("Item costlier than the quantum is taken once its key has saved up enough turns")
+    void testTake_whenItemCostsMoreThanQuantum_waitsForDeficit() throws InterruptedException {
+        // Arrange
+        FairQueue<String> queue = new FairQueue<>(100, 100, 100, 2, String::length);
+        queue.offer(KEYNOTE, null, "long");
+        for (int i = 0; i < 4; i++) {
+            queue.offer(WORKSHOP, null, "w");
+        }
+
+        // Act
+        List<String> items = drain(queue, 5);
+
+        // Assert
+        assertEquals(List.of("w", "w", "long", "w", "w"), items);
+        assertEquals(0, queue.activeKeys());
+    }
+}
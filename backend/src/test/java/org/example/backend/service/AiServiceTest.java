@@ -0,0 +1,543 @@
+package org.example.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.analyzer.SentimentResponseParser;
+import org.example.backend.enums.CircuitState;
+import org.example.backend.enums.SentimentType;
+import org.example.backend.exception.ServiceUnavailableException;
+import org.example.backend.resilience.CircuitBreaker;
+import org.example.backend.resilience.RateGovernor;
+import org.junit.jupiter.api.*;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AiServiceTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private SimpleMeterRegistry meterRegistry;
+    private AiService aiService;
+
+    private final List<Integer> receivedBatchSizes = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+    private final AtomicInteger maxInFlightRequests = new AtomicInteger();
+    private final Queue<Integer> scriptedStatuses = new ConcurrentLinkedQueue<>();
+    private volatile int responseStatus = 200;
+    private volatile long responseDelayMillis = 0;
+    private volatile long slowEndpointDelayMillis = 0;
+    private final Queue<String> servedBy = new ConcurrentLinkedQueue<>();
+    private volatile String scriptedRetryAfter;
+    private double quotaRate = 1_000;
+    private int quotaBurst = 100;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.createContext("/slow", exchange -> {
+            sleep(slowEndpointDelayMillis);
+            handle(exchange);
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (aiService != null) {
+            aiService.shutdown();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    AiService setupAiService(int maxBatchSize, long lingerMillis) {
+        return setupAiService(maxBatchSize, lingerMillis, 4);
+    }
+
+    AiService setupAiService(int maxBatchSize, long lingerMillis, int maxConcurrentBatches) {
+        return setupAiService(maxBatchSize, lingerMillis, maxConcurrentBatches, 5, 2_000);
+    }
+
+    AiService setupAiService(int maxBatchSize, long lingerMillis, int maxConcurrentBatches,
+                             int failureThreshold, long timeoutMillis) {
+        return setupAiService(maxBatchSize, lingerMillis, maxConcurrentBatches, failureThreshold, timeoutMillis,
+                List.of(url("/")), false);
+    }
+
+    AiService setupAiService(int maxBatchSize, long lingerMillis, int maxConcurrentBatches,
+                             int failureThreshold, long timeoutMillis, List<String> apiUrls, boolean hedgingEnabled) {
+        circuitBreaker = new CircuitBreaker("sentiment", failureThreshold, Duration.ofMillis(200),
+                Clock.systemUTC(), meterRegistry);
+        RateGovernor rateGovernor = new RateGovernor("sentiment", quotaRate, quotaBurst, Duration.ofSeconds(3),
+                Duration.ofMillis(100), Clock.systemUTC(), meterRegistry);
+        aiService = new AiService(WebClient.builder().build(), new SentimentResponseParser(MAPPER), meterRegistry, circuitBreaker, rateGovernor, "test-key",
+                apiUrls, maxBatchSize, lingerMillis, maxConcurrentBatches,
+                1000, 60_000, timeoutMillis, 1, 10, 50, hedgingEnabled, 50);
+        return aiService;
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    // Answers each input with its own text as the top label, so results can be matched to requests.
+    private void handle(HttpExchange exchange) throws IOException {
+        maxInFlightRequests.accumulateAndGet(inFlightRequests.incrementAndGet(), Math::max);
+        servedBy.add(exchange.getHttpContext().getPath());
+        try {
+            respond(exchange);
+        } finally {
+            inFlightRequests.decrementAndGet();
+        }
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        JsonNode inputs = MAPPER.readTree(exchange.getRequestBody()).get("inputs");
+        receivedBatchSizes.add(inputs.size());
+        sleep(responseDelayMillis);
+
+        ArrayNode predictions = MAPPER.createArrayNode();
+        inputs.forEach(input -> {
+            ArrayNode prediction = predictions.addArray();
+            prediction.addObject().put("label", "neutral").put("score", 0.1);
+            prediction.addObject().put("label", input.asText()).put("score", 0.9);
+        });
+
+        byte[] body = MAPPER.writeValueAsBytes(predictions);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        Integer scriptedStatus = scriptedStatuses.poll();
+        String retryAfter = scriptedRetryAfter;
+        if (scriptedStatus != null && retryAfter != null) {
+            exchange.getResponseHeaders().add("Retry-After", retryAfter);
+        }
+        exchange.sendResponseHeaders(scriptedStatus != null ? scriptedStatus : responseStatus, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("Full batch is sent in one request and results are fanned out in order")
+    void testAnalyzeSentiment_whenBatchIsFull_sendsOneRequest() throws Exception {
+        // Arrange
+        AiService service = setupAiService(3, 10_000);
+
+        // Act
+        CompletableFuture<SentimentType> first = service.analyzeSentiment("positive");
+        CompletableFuture<SentimentType> second = service.analyzeSentiment("negative");
+        CompletableFuture<SentimentType> third = service.analyzeSentiment("other");
+
+        // Assert
+        assertEquals(SentimentType.POSITIVE, first.get(5, TimeUnit.SECONDS));
+        assertEquals(SentimentType.NEGATIVE, second.get(5, TimeUnit.SECONDS));
+        assertEquals(SentimentType.NEUTRAL, third.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(3), receivedBatchSizes);
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Partial batch is sent once the linger time passes")
+    void testAnalyzeSentiment_whenBatchIsNotFull_sendsAfterLinger() throws Exception {
+        // Arrange
+        AiService service = setupAiService(16, 50);
+
+        // Act
+        CompletableFuture<SentimentType> first = service.analyzeSentiment("positive");
+        CompletableFuture<SentimentType> second = service.analyzeSentiment("negative");
+
+        // Assert
+        assertEquals(SentimentType.POSITIVE, first.get(5, TimeUnit.SECONDS));
+        assertEquals(SentimentType.NEGATIVE, second.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(2), receivedBatchSizes);
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Failed call fails every item of the batch instead of guessing neutral")
+    void testAnalyzeSentiment_whenApiFails_failsWholeBatch() {
+        // Arrange
+        responseStatus = 500;
+        AiService service = setupAiService(2, 10_000);
+
+        // Act
+        CompletableFuture<SentimentType> first = service.analyzeSentiment("positive");
+        CompletableFuture<SentimentType> second = service.analyzeSentiment("negative");
+
+        // Assert
+        assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("Batch size and latency are recorded per request")
+    void testAnalyzeSentiment_whenBatchIsSent_recordsMetrics() throws Exception {
+        // Arrange
+        AiService service = setupAiService(4, 10_000);
+
+        // Act
+        List<CompletableFuture<SentimentType>> results = List.of(
+                service.analyzeSentiment("positive"),
+                service.analyzeSentiment("negative"),
+                service.analyzeSentiment("neutral"),
+                service.analyzeSentiment("other"));
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(1, meterRegistry.get("ai.sentiment.batch.size").summary().count());
+        assertEquals(4.0, meterRegistry.get("ai.sentiment.batch.size").summary().totalAmount());
+        await().untilAsserted(() -> assertEquals(1, meterRegistry.get("ai.sentiment.batch.latency").timer().count()));
+    }
+
+    @Order(5)
+    @Test
+    @DisplayName("Ready batches wait for a free slot instead of opening more calls")
+    void testAnalyzeSentiment_whenConcurrencyLimitIsReached_queuesBatches() throws Exception {
+        // Arrange
+        responseDelayMillis = 100;
+        AiService service = setupAiService(1, 10_000, 1);
+
+        // Act
+        List<CompletableFuture<SentimentType>> results = List.of(
+                service.analyzeSentiment("positive"),
+                service.analyzeSentiment("negative"),
+                service.analyzeSentiment("other"));
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(List.of(1, 1, 1), receivedBatchSizes);
+        assertEquals(1, maxInFlightRequests.get());
+        assertEquals(SentimentType.NEGATIVE, results.get(1).get());
+    }
+
+    @Order(6)
+    @Test
+    @DisplayName("Concurrent requests for the same text share one inference")
+    void testAnalyzeSentiment_whenSameTextIsInFlight_coalescesRequests() throws Exception {
+        // Arrange
+        AiService service = setupAiService(16, 50);
+
+        // Act
+        CompletableFuture<SentimentType> first = service.analyzeSentiment("positive");
+        CompletableFuture<SentimentType> second = service.analyzeSentiment("  Positive ");
+
+        // Assert
+        assertEquals(SentimentType.POSITIVE, first.get(5, TimeUnit.SECONDS));
+        assertEquals(SentimentType.POSITIVE, second.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1), receivedBatchSizes);
+    }
+
+    @Order(7)
+    @Test
+    @DisplayName("Repeated text is answered from the cache and counted as a hit")
+    void testAnalyzeSentiment_whenTextWasAnalyzed_returnsCachedSentiment() throws Exception {
+        // Arrange
+        AiService service = setupAiService(1, 10_000);
+        service.analyzeSentiment("negative").get(5, TimeUnit.SECONDS);
+
+        // Act
+        SentimentType sentiment = service.analyzeSentiment("negative").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(SentimentType.NEGATIVE, sentiment);
+        assertEquals(List.of(1), receivedBatchSizes);
+        assertEquals(0.5, meterRegistry.get("ai.sentiment.cache.hit.ratio").gauge().value());
+    }
+
+    @Order(8)
+    @Test
+    @DisplayName("Failed inference is not cached")
+    void testAnalyzeSentiment_whenApiFailed_retriesOnNextRequest() throws Exception {
+        // Arrange
+        responseStatus = 500;
+        AiService service = setupAiService(1, 10_000);
+        assertThrows(ExecutionException.class, () -> service.analyzeSentiment("positive").get(5, TimeUnit.SECONDS));
+        responseStatus = 200;
+
+        // Act & Assert
+        await().untilAsserted(() ->
+                assertEquals(SentimentType.POSITIVE, service.analyzeSentiment("positive").get(5, TimeUnit.SECONDS)));
+        assertTrue(receivedBatchSizes.size() >= 2);
+    }
+
+    @Order(9)
+    @Test
+    @DisplayName("Server error is retried and the retry succeeds")
+    void testAnalyzeSentiment_whenServerErrorIsTransient_retriesAndSucceeds() throws Exception {
+        // Arrange
+        scriptedStatuses.add(503);
+        AiService service = setupAiService(1, 10_000);
+
+        // Act
+        SentimentType sentiment = service.analyzeSentiment("positive").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(SentimentType.POSITIVE, sentiment);
+        assertEquals(List.of(1, 1), receivedBatchSizes);
+        assertEquals(1.0, meterRegistry.get("ai.sentiment.retries").counter().count());
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+    }
+
+    @Order(10)
+    @Test
+    @DisplayName("Too many requests is retried like a server error")
+    void testAnalyzeSentiment_whenRateLimited_retries() throws Exception {
+        // Arrange
+        scriptedStatuses.add(429);
+        AiService service = setupAiService(1, 10_000);
+
+        // Act & Assert
+        assertEquals(SentimentType.NEGATIVE, service.analyzeSentiment("negative").get(5, TimeUnit.SECONDS));
+        assertEquals(2, receivedBatchSizes.size());
+    }
+
+    @Order(11)
+    @Test
+    @DisplayName("Client error is not retried and does not count against the circuit")
+    void testAnalyzeSentiment_whenClientError_doesNotRetry() {
+        // Arrange
+        responseStatus = 400;
+        AiService service = setupAiService(1, 10_000, 4, 1, 2_000);
+
+        // Act & Assert
+        assertThrows(ExecutionException.class, () -> service.analyzeSentiment("positive").get(5, TimeUnit.SECONDS));
+        assertEquals(1, receivedBatchSizes.size());
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+    }
+
+    @Order(12)
+    @Test
+    @DisplayName("Slow upstream is cut off by the call timeout")
+    void testAnalyzeSentiment_whenUpstreamIsSlow_timesOut() {
+        // Arrange
+        responseDelayMillis = 1_000;
+        AiService service = setupAiService(1, 10_000, 4, 5, 100);
+
+        // Act
+        long start = System.nanoTime();
+        var thrown = assertThrows(ExecutionException.class, () -> service.analyzeSentiment("positive").get(5, TimeUnit.SECONDS));
+
+        // Assert
+        assertInstanceOf(java.util.concurrent.TimeoutException.class, thrown.getCause());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1_000);
+    }
+
+    @Order(13)
+    @Test
+    @DisplayName("Open circuit fails fast and a successful trial closes it again")
+    void testAnalyzeSentiment_whenCircuitIsOpen_failsFastUntilTrialSucceeds() throws Exception {
+        // Arrange
+        responseStatus = 500;
+        AiService service = setupAiService(1, 10_000, 4, 1, 2_000);
+        assertThrows(ExecutionException.class, () -> service.analyzeSentiment("positive").get(5, TimeUnit.SECONDS));
+        int requestsBeforeOpen = receivedBatchSizes.size();
+
+        // Act
+        var thrown = assertThrows(ExecutionException.class, () -> service.analyzeSentiment("negative").get(5, TimeUnit.SECONDS));
+
+        // Assert
+        assertInstanceOf(ServiceUnavailableException.class, thrown.getCause());
+        assertEquals(requestsBeforeOpen, receivedBatchSizes.size());
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+        assertEquals(1.0, meterRegistry.get("circuit.state").tag("state", "open").gauge().value());
+
+        // Verify
+        responseStatus = 200;
+        await().ignoreExceptions().untilAsserted(() ->
+                assertEquals(SentimentType.POSITIVE, service.analyzeSentiment("positive").get(5, TimeUnit.SECONDS)));
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+    }
+
+    @Order(14)
+    @Test
+    @DisplayName("Traffic shifts to the endpoint with the lower observed latency")
+    void testAnalyzeSentiment_whenOneEndpointIsSlow_prefersFasterEndpoint() throws Exception {
+        // Arrange
+        slowEndpointDelayMillis = 600;
+        AiService service = setupAiService(1, 10_000, 1, 5, 2_000, List.of(url("/slow"), url("/")), false);
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            service.analyzeSentiment("text-" + i).get(5, TimeUnit.SECONDS);
+        }
+
+        // Assert
+        long slowCalls = servedBy.stream().filter("/slow"::equals).count();
+        assertTrue(slowCalls <= 2, "slow endpoint served " + slowCalls + " calls");
+        assertEquals(10, servedBy.size());
+    }
+
+    @Order(15)
+    @Test
+    @DisplayName("Hedged request returns the faster endpoint's answer when the first one stalls")
+    void testAnalyzeSentiment_whenHedgingIsEnabled_usesSecondEndpoint() throws Exception {
+        // Arrange
+        slowEndpointDelayMillis = 1_500;
+        AiService service = setupAiService(1, 10_000, 4, 5, 2_000, List.of(url("/slow"), url("/")), true);
+
+        // Act
+        long start = System.nanoTime();
+        SentimentType sentiment = service.analyzeSentiment("positive").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(SentimentType.POSITIVE, sentiment);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 1_500);
+        assertEquals(1.0, meterRegistry.get("ai.sentiment.hedged").counter().count());
+    }
+
+    @Order(16)
+    @Test
+    @DisplayName("Without hedging a stalled endpoint is waited out")
+    void testAnalyzeSentiment_whenHedgingIsDisabled_sendsSingleRequest() throws Exception {
+        // Arrange
+        slowEndpointDelayMillis = 300;
+        AiService service = setupAiService(1, 10_000, 4, 5, 2_000, List.of(url("/slow"), url("/")), false);
+
+        // Act
+        SentimentType sentiment = service.analyzeSentiment("positive").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(SentimentType.POSITIVE, sentiment);
+        assertEquals(List.of("/slow"), List.copyOf(servedBy));
+        assertEquals(0.0, meterRegistry.get("ai.sentiment.hedged").counter().count());
+    }
+
+    @Order(17)
+    @Test
+    @DisplayName("Batches beyond the quota wait for a slot instead of failing")
+    void testAnalyzeSentiment_whenQuotaIsExceeded_delaysCalls() throws Exception {
+        // Arrange
+        quotaRate = 10;
+        quotaBurst = 1;
+        AiService service = setupAiService(1, 10_000);
+
+        // Act
+        long start = System.nanoTime();
+        List<CompletableFuture<SentimentType>> results = List.of(
+                service.analyzeSentiment("positive"),
+                service.analyzeSentiment("negative"),
+                service.analyzeSentiment("other"));
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 150);
+        assertEquals(SentimentType.NEGATIVE, results.get(1).get());
+        assertEquals(1.0, meterRegistry.get("quota.allowed").counter().count());
+        assertEquals(2.0, meterRegistry.get("quota.delayed").counter().count());
+    }
+
+    @Order(18)
+    @Test
+    @DisplayName("Retry after a 429 waits for Retry-After and leaves the circuit alone")
+    void testAnalyzeSentiment_whenRateLimitedWithRetryAfter_waitsBeforeRetrying() throws Exception {
+        // Arrange
+        scriptedStatuses.add(429);
+        scriptedRetryAfter = "1";
+        AiService service = setupAiService(1, 10_000, 4, 1, 2_000);
+
+        // Act
+        long start = System.nanoTime();
+        SentimentType sentiment = service.analyzeSentiment("positive").get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(SentimentType.POSITIVE, sentiment);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 900);
+        assertEquals(2, receivedBatchSizes.size());
+        assertEquals(CircuitState.CLOSED, circuitBreaker.getState());
+        assertEquals(1.0, meterRegistry.get("quota.delayed").counter().count());
+    }
+
+    @Order(19)
+    @Test
+    @DisplayName("Open circuit fails a batch off the thread that filled it")
+    void testAnalyzeSentiment_whenCircuitIsOpen_failsOffCallingThread() throws Exception {
+        // Arrange
+        responseStatus = 500;
+        AiService service = setupAiService(2, 10_000, 4, 1, 2_000);
+        CompletableFuture<SentimentType> opening = service.analyzeSentiment("neutral");
+        assertThrows(ExecutionException.class, () -> service.analyzeSentiment("positive").get(5, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> opening.get(5, TimeUnit.SECONDS));
+        assertEquals(CircuitState.OPEN, circuitBreaker.getState());
+        CompletableFuture<Thread> failedOn = new CompletableFuture<>();
+        service.analyzeSentiment("negative").whenComplete((sentiment, e) -> failedOn.complete(Thread.currentThread()));
+
+        // Act
+        service.analyzeSentiment("mixed");
+
+        // Assert
+        assertNotSame(Thread.currentThread(), failedOn.get(5, TimeUnit.SECONDS));
+    }
+
+    @Order(20)
+    @Test
+    @DisplayName("Error response is charged its own latency, not the call timeout")
+    void testAnalyzeSentiment_whenClientError_recordsElapsedLatency() {
+        // Arrange
+        responseStatus = 400;
+        AiService service = setupAiService(1, 10_000, 4, 5, 2_000);
+
+        // Act
+        assertThrows(ExecutionException.class, () -> service.analyzeSentiment("positive").get(5, TimeUnit.SECONDS));
+
+        // Assert
+        assertTrue(latencyEwma(url("/")) < 100);
+    }
+
+    @Order(21)
+    @Test
+    @DisplayName("Refused connection is charged the full call timeout")
+    void testAnalyzeSentiment_whenConnectionIsRefused_recordsTimeoutPenalty() {
+        // Arrange
+        String unreachable = "http://localhost:1/";
+        AiService service = setupAiService(1, 10_000, 4, 5, 2_000, List.of(unreachable), false);
+
+        // Act
+        assertThrows(ExecutionException.class, () -> service.analyzeSentiment("positive").get(5, TimeUnit.SECONDS));
+
+        // Assert
+        assertTrue(latencyEwma(unreachable) > 400);
+    }
+
+    private double latencyEwma(String endpoint) {
+        return meterRegistry.get("ai.endpoint.latency.ewma").tag("endpoint", endpoint).gauge().value();
+    }
+}
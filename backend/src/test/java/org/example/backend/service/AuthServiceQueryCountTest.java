@@ -0,0 +1,135 @@
+package org.example.backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.dto.login.LoginRequestDTO;
+import org.example.backend.dto.token.RefreshTokenRequestDTO;
+import org.example.backend.enums.UserRole;
+import org.example.backend.exception.UserAlreadyLoggedInException;
+import org.example.backend.exception.UserNotAuthenticatedException;
+import org.example.backend.model.User;
+import org.example.backend.repository.TokenRepository;
+import org.example.backend.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({AuthService.class, TokenService.class, JwtService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AuthServiceQueryCountTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenRepository tokenRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    @MockitoBean
+    private SessionExpiryService sessionExpiryService;
+
+    @MockitoBean
+    private SimpMessagingTemplate messagingTemplate;
+
+    private static final String TEST_USERNAME = "user";
+    private static final String TEST_PASSWORD = "12345678";
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        tokenRepository.deleteAll();
+        userRepository.deleteAll();
+        userRepository.save(User.builder()
+                .username(TEST_USERNAME)
+                .email("user@email.com")
+                .password("hashed-password")
+                .role(UserRole.ROLE_USER)
+                .build());
+
+        when(passwordEncoder.matches(anyString(), any())).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(any())).thenReturn(false);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    LoginRequestDTO setupLoginRequest() {
+        return LoginRequestDTO.builder()
+                .username(TEST_USERNAME)
+                .password(TEST_PASSWORD)
+                .build();
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("Login loads the user once and replaces the session with one delete and one insert")
+    void testLoginUser_whenUserExists_executesThreeStatements() {
+        // Act
+        var loginResponse = authService.loginUser(setupLoginRequest());
+
+        // Assert
+        assertNotNull(loginResponse.getToken());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(1, tokenRepository.count());
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Login of a logged in user stops after the user select")
+    void testLoginUser_whenUserIsAlreadyLoggedIn_executesOneStatement() {
+        // Arrange
+        authService.loginUser(setupLoginRequest());
+        statistics.clear();
+
+        // Act
+        assertThrows(UserAlreadyLoggedInException.class, () -> authService.loginUser(setupLoginRequest()));
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Refresh consumes the stored token and stores its replacement")
+    void testRefreshToken_whenRefreshTokenIsStored_executesThreeStatements() {
+        // Arrange
+        var loginResponse = authService.loginUser(setupLoginRequest());
+        statistics.clear();
+
+        // Act
+        var refreshResponse = authService.refreshToken(new RefreshTokenRequestDTO(loginResponse.getRefreshToken()));
+
+        // Assert
+        assertNotEquals(loginResponse.getRefreshToken(), refreshResponse.getRefreshToken());
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(1, tokenRepository.count());
+        assertThrows(UserNotAuthenticatedException.class,
+                () -> authService.refreshToken(new RefreshTokenRequestDTO(loginResponse.getRefreshToken())));
+    }
+}
@@ -1,28 +1,29 @@
 package org.example.backend.service;
 
-import jakarta.servlet.http.HttpServletRequest;
+import io.jsonwebtoken.MalformedJwtException;
 import org.example.backend.dto.login.LoginRequestDTO;
 import org.example.backend.dto.login.LoginResponseDTO;
+import org.example.backend.dto.login.LoginUserDTO;
+import org.example.backend.dto.token.ParsedTokenDTO;
+import org.example.backend.dto.token.RefreshTokenRequestDTO;
 import org.example.backend.enums.TokenType;
 import org.example.backend.enums.UserRole;
 import org.example.backend.exception.UserAlreadyLoggedInException;
-import org.example.backend.model.Token;
+import org.example.backend.exception.UserNotAuthenticatedException;
 import org.example.backend.model.User;
-import org.example.backend.repository.TokenRepository;
 import org.example.backend.repository.UserRepository;
+import org.example.backend.utils.TokenHashUtils;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.Collections;
-import java.util.List;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -40,7 +41,7 @@ class AuthServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private AuthenticationManager authenticationManager;
+    private PasswordEncoder passwordEncoder;
 
     @Mock
     private JwtService jwtService;
@@ -48,16 +49,8 @@ class AuthServiceTest {
     @Mock
     private TokenService tokenService;
 
-    @Mock
-    private TokenRepository tokenRepository;
-
-    @Mock
-    private Authentication authentication;
-
-    @Mock
-    private HttpServletRequest httpServletRequest;
-
     private static final String TEST_TOKEN = "valid-token";
+    private static final String TEST_REFRESH_TOKEN = "refresh-token";
     private static final String TEST_USERNAME = "user";
     private static final String TEST_EMAIL = "email@email.com";
     private static final String TEST_PASSWORD = "12345678";
@@ -87,13 +80,20 @@ class AuthServiceTest {
                 .build();
     }
 
-    Token setupToken() {
-        return Token.builder()
-                .id(UUID.randomUUID())
-                .token("token")
-                .tokenType(TokenType.BEARER)
-                .expired(false)
-                .revoked(false)
+    RefreshTokenRequestDTO setupRefreshRequest() {
+        return RefreshTokenRequestDTO.builder()
+                .refreshToken(TEST_REFRESH_TOKEN)
+                .build();
+    }
+
+    ParsedTokenDTO setupParsedToken(TokenType tokenType) {
+        return ParsedTokenDTO.builder()
+                .token(TEST_REFRESH_TOKEN)
+                .subject(TEST_USERNAME)
+                .userId(TEST_USERID)
+                .role(UserRole.ROLE_USER)
+                .tokenType(tokenType)
+                .expiresAt(Instant.now().plusSeconds(60))
                 .build();
     }
 
@@ -106,12 +106,13 @@ class AuthServiceTest {
         LoginRequestDTO request = setupLoginRequest();
         User user = setupUser();
 
-        when(userRepository.findUserByUsername(TEST_USERNAME)).thenReturn(Optional.of(user));
-        when(tokenService.getAllValidUserTokens(user)).thenReturn(Collections.emptyList());
-        when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class))).thenReturn(authentication);
-        doNothing().when(tokenService).deleteAllUserTokens(user);
+        when(userRepository.findLoginUserByUsername(eq(TEST_USERNAME), any(Instant.class)))
+                .thenReturn(Optional.of(new LoginUserDTO(user, false)));
+        when(passwordEncoder.matches(TEST_PASSWORD, TEST_PASSWORD)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(TEST_PASSWORD)).thenReturn(false);
+        when(jwtService.generateRefreshToken(user)).thenReturn(TEST_REFRESH_TOKEN);
         when(jwtService.generateToken(user)).thenReturn(TEST_TOKEN);
-        doNothing().when(tokenService).saveUserToken(user, TEST_TOKEN);
+        doNothing().when(tokenService).replaceUserTokens(user, TEST_REFRESH_TOKEN);
 
         // Act
         var loginResponse = authService.loginUser(request);
@@ -119,12 +120,14 @@ class AuthServiceTest {
         // Assert
         assertNotNull(loginResponse);
         assertEquals(TEST_TOKEN, loginResponse.getToken());
+        assertEquals(TEST_REFRESH_TOKEN, loginResponse.getRefreshToken());
 
         // Verify
-        verify(userRepository, times(1)).findUserByUsername(TEST_USERNAME);
+        verify(userRepository, times(1)).findLoginUserByUsername(eq(TEST_USERNAME), any(Instant.class));
         verify(jwtService, times(1)).generateToken(any(User.class));
-        verify(tokenService).deleteAllUserTokens(user);
-        verify(tokenService).saveUserToken(user, TEST_TOKEN);
+        verify(tokenService).replaceUserTokens(user, TEST_REFRESH_TOKEN);
+        verify(userRepository, never()).updatePasswordByUsername(any(), any());
+        verifyNoMoreInteractions(userRepository, tokenService);
     }
 
     @Order(2)
@@ -137,7 +140,8 @@ class AuthServiceTest {
                 .password("not-found")
                 .build();
 
-        when(userRepository.findUserByUsername(notFoundRequest.getUsername())).thenReturn(Optional.empty());
+        when(userRepository.findLoginUserByUsername(eq(notFoundRequest.getUsername()), any(Instant.class)))
+                .thenReturn(Optional.empty());
 
         // Act
         var thrown = assertThrows(UsernameNotFoundException.class, () -> authService.loginUser(notFoundRequest));
@@ -146,8 +150,8 @@ class AuthServiceTest {
         assertNotNull(thrown);
 
         // Verify
-        verify(userRepository, times(1)).findUserByUsername(notFoundRequest.getUsername());
-        verifyNoInteractions(authenticationManager, tokenService, jwtService);
+        verify(userRepository, times(1)).findLoginUserByUsername(eq(notFoundRequest.getUsername()), any(Instant.class));
+        verifyNoInteractions(passwordEncoder, tokenService, jwtService);
     }
 
     @Order(3)
@@ -157,11 +161,9 @@ class AuthServiceTest {
         // Arrange
         LoginRequestDTO request = setupLoginRequest();
         User user = setupUser();
-        Token token = setupToken();
-        List<Token> tokens = List.of(token);
 
-        when(userRepository.findUserByUsername(TEST_USERNAME)).thenReturn(Optional.of(user));
-        when(tokenService.getAllValidUserTokens(user)).thenReturn(tokens);
+        when(userRepository.findLoginUserByUsername(eq(TEST_USERNAME), any(Instant.class)))
+                .thenReturn(Optional.of(new LoginUserDTO(user, true)));
 
         // Act
         var thrown = assertThrows(UserAlreadyLoggedInException.class, () -> authService.loginUser(request));
@@ -170,82 +172,174 @@ class AuthServiceTest {
         assertNotNull(thrown);
 
         // Verify
-        verify(tokenService, times(1)).getAllValidUserTokens(user);
-        verify(userRepository, times(1)).findUserByUsername(request.getUsername());
-        verifyNoInteractions(authenticationManager, jwtService);
-        verifyNoMoreInteractions(tokenService);
+        verify(userRepository, times(1)).findLoginUserByUsername(eq(request.getUsername()), any(Instant.class));
+        verifyNoInteractions(passwordEncoder, jwtService, tokenService);
     }
 
     @Order(4)
     @Test
-    @DisplayName("User can logout")
-    void testLogout_whenUserTokenIsPresent_CorrectResponseBodyAndStatus() {
+    @DisplayName("User can't login with a wrong password")
+    void testLoginUser_whenPasswordDoesNotMatch_throwsBadCredentialsException() {
         // Arrange
-        Token token = setupToken();
+        LoginRequestDTO request = setupLoginRequest();
+        User user = setupUser();
+        user.setPassword("other-hash");
+
+        when(userRepository.findLoginUserByUsername(eq(TEST_USERNAME), any(Instant.class)))
+                .thenReturn(Optional.of(new LoginUserDTO(user, false)));
+        when(passwordEncoder.matches(TEST_PASSWORD, "other-hash")).thenReturn(false);
+
+        // Act
+        var thrown = assertThrows(BadCredentialsException.class, () -> authService.loginUser(request));
+
+        // Assert
+        assertNotNull(thrown);
+
+        // Verify
+        verify(passwordEncoder, never()).encode(any());
+        verifyNoInteractions(jwtService, tokenService);
+    }
+
+    @Order(5)
+    @Test
+    @DisplayName("Outdated password hash is upgraded on login")
+    void testLoginUser_whenHashNeedsUpgrade_storesUpgradedHash() {
+        // Arrange
+        LoginRequestDTO request = setupLoginRequest();
+        User user = setupUser();
+
+        when(userRepository.findLoginUserByUsername(eq(TEST_USERNAME), any(Instant.class)))
+                .thenReturn(Optional.of(new LoginUserDTO(user, false)));
+        when(passwordEncoder.matches(TEST_PASSWORD, TEST_PASSWORD)).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding(TEST_PASSWORD)).thenReturn(true);
+        when(passwordEncoder.encode(TEST_PASSWORD)).thenReturn("upgraded-hash");
+        when(jwtService.generateRefreshToken(user)).thenReturn(TEST_REFRESH_TOKEN);
+        when(jwtService.generateToken(user)).thenReturn(TEST_TOKEN);
+
+        // Act
+        var loginResponse = authService.loginUser(request);
+
+        // Assert
+        assertEquals(TEST_TOKEN, loginResponse.getToken());
+        assertEquals("upgraded-hash", user.getPassword());
+
+        // Verify
+        verify(userRepository, times(1)).updatePasswordByUsername(TEST_USERNAME, "upgraded-hash");
+        verify(tokenService, times(1)).replaceUserTokens(user, TEST_REFRESH_TOKEN);
+    }
 
-        when(tokenRepository.findByToken(token.getToken())).thenReturn(Optional.of(token));
-        when(httpServletRequest.getHeader("Authorization")).thenReturn("Bearer %s".formatted(token.getToken()));
+    @Order(6)
+    @Test
+    @DisplayName("User can logout")
+    void testLogout_whenRefreshTokenIsStored_returnsOk() {
+        // Arrange
+        when(tokenService.deleteUserToken(TokenHashUtils.sha256(TEST_REFRESH_TOKEN))).thenReturn(true);
 
         // Act
-        var response = authService.logout(httpServletRequest);
+        var response = authService.logout(setupRefreshRequest());
 
         // Assert
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Logout successful", response.getBody());
-        assertTrue(token.isExpired());
-        assertTrue(token.isRevoked());
 
         // Verify
-        verify(tokenRepository, times(1)).findByToken(token.getToken());
-        verify(tokenRepository, times(1)).delete(token);
-        verifyNoMoreInteractions(tokenRepository);
+        verify(tokenService, times(1)).deleteUserToken(TokenHashUtils.sha256(TEST_REFRESH_TOKEN));
+        verifyNoInteractions(jwtService, userRepository);
     }
 
-    @Order(5)
+    @Order(7)
     @Test
     @DisplayName("Token is not found")
-    void testUserLogout_whenUserTokenIsNotFound_returnsBadRequest() {
+    void testLogout_whenRefreshTokenIsNotStored_returnsBadRequest() {
         // Arrange
-        Token expiredToken = Token.builder()
-                .id(UUID.randomUUID())
-                .token("expired")
-                .tokenType(TokenType.BEARER)
-                .expired(true)
-                .revoked(true)
-                .build();
-
-        when(httpServletRequest.getHeader("Authorization")).thenReturn("Bearer %s".formatted(expiredToken.getToken()));
-        when(tokenRepository.findByToken("expired")).thenReturn(Optional.empty());
+        when(tokenService.deleteUserToken(TokenHashUtils.sha256(TEST_REFRESH_TOKEN))).thenReturn(false);
 
         // Act
-        var response = authService.logout(httpServletRequest);
+        var response = authService.logout(setupRefreshRequest());
 
         // Assert
         assertEquals("Invalid JWT token", response.getBody());
         assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Order(8)
+    @Test
+    @DisplayName("Refresh token is rotated")
+    void testRefreshToken_whenRefreshTokenIsStored_returnsNewTokenPair() {
+        // Arrange
+        User user = setupUser();
+
+        when(jwtService.parseToken(TEST_REFRESH_TOKEN)).thenReturn(setupParsedToken(TokenType.REFRESH));
+        when(tokenService.deleteUserToken(TokenHashUtils.sha256(TEST_REFRESH_TOKEN))).thenReturn(true);
+        when(userRepository.findById(TEST_USERID)).thenReturn(Optional.of(user));
+        when(jwtService.generateRefreshToken(user)).thenReturn("new-refresh-token");
+        when(jwtService.generateToken(user)).thenReturn(TEST_TOKEN);
+
+        // Act
+        var response = authService.refreshToken(setupRefreshRequest());
+
+        // Assert
+        assertEquals(TEST_TOKEN, response.getToken());
+        assertEquals("new-refresh-token", response.getRefreshToken());
 
         // Verify
-        verify(tokenRepository, times(1)).findByToken(expiredToken.getToken());
-        verify(tokenRepository, never()).delete(expiredToken);
+        verify(tokenService, times(1)).deleteUserToken(TokenHashUtils.sha256(TEST_REFRESH_TOKEN));
+        verify(tokenService, times(1)).saveUserToken(user, "new-refresh-token");
     }
 
-    @Order(6)
+    @Order(9)
     @Test
-    @DisplayName("Auth header is missing")
-    void testLogoutUser_whenMissingAuthorizationHeader_returnsBadRequest() {
+    @DisplayName("Refresh token that was already used is rejected")
+    void testRefreshToken_whenRefreshTokenIsNotStored_throwsUserNotAuthenticatedException() {
         // Arrange
-        when(httpServletRequest.getHeader("Authorization")).thenReturn(null);
+        when(jwtService.parseToken(TEST_REFRESH_TOKEN)).thenReturn(setupParsedToken(TokenType.REFRESH));
+        when(tokenService.deleteUserToken(TokenHashUtils.sha256(TEST_REFRESH_TOKEN))).thenReturn(false);
 
         // Act
-        var response = authService.logout(httpServletRequest);
+        var thrown = assertThrows(UserNotAuthenticatedException.class,
+                () -> authService.refreshToken(setupRefreshRequest()));
 
         // Assert
-        assertEquals("Missing or invalid Authorization header", response.getBody());
-        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid refresh token", thrown.getMessage());
 
         // Verify
-        verify(tokenRepository, never()).findByToken(any());
-        verify(tokenRepository, never()).delete(any());
+        verify(tokenService, never()).saveUserToken(any(), any());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Order(10)
+    @Test
+    @DisplayName("Access token can't be used as a refresh token")
+    void testRefreshToken_whenAccessTokenIsProvided_throwsUserNotAuthenticatedException() {
+        // Arrange
+        when(jwtService.parseToken(TEST_REFRESH_TOKEN)).thenReturn(setupParsedToken(TokenType.BEARER));
+
+        // Act
+        var thrown = assertThrows(UserNotAuthenticatedException.class,
+                () -> authService.refreshToken(setupRefreshRequest()));
+
+        // Assert
+        assertEquals("Invalid refresh token", thrown.getMessage());
 
+        // Verify
+        verifyNoInteractions(tokenService, userRepository);
+    }
+
+    @Order(11)
+    @Test
+    @DisplayName("Malformed refresh token is rejected")
+    void testRefreshToken_whenTokenIsMalformed_throwsUserNotAuthenticatedException() {
+        // Arrange
+        when(jwtService.parseToken(TEST_REFRESH_TOKEN)).thenThrow(new MalformedJwtException("malformed"));
+
+        // Act
+        var thrown = assertThrows(UserNotAuthenticatedException.class,
+                () -> authService.refreshToken(setupRefreshRequest()));
+
+        // Assert
+        assertEquals("Invalid refresh token", thrown.getMessage());
+
+        // Verify
+        verifyNoInteractions(tokenService, userRepository);
     }
 }
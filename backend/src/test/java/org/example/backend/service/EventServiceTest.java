@@ -98,7 +98,7 @@ class EventServiceTest {
         Event savedEvent = setupEvent();
         Optional<User> user = Optional.ofNullable(setupUser());
 
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(userService.getCurrentUserReference()).thenReturn(user);
         when(eventMapper.toEntity(request)).thenReturn(savedEvent);
         when(eventRepository.save(any(Event.class))).thenReturn(savedEvent);
         when(eventRepository.existsByTitle(TEST_TITLE)).thenReturn(false);
@@ -137,7 +137,7 @@ class EventServiceTest {
         assertEquals("Event title already exists", thrown.getMessage());
 
         // Verify
-        verify(userService, never()).getCurrentUser();
+        verify(userService, never()).getCurrentUserReference();
         verify(eventRepository, never()).save(any(Event.class));
         verify(eventMapper, never()).toEntity(any(EventRequestDTO.class));
         verify(eventRepository, times(1)).existsByTitle(request.getTitle());
@@ -149,7 +149,7 @@ class EventServiceTest {
     void testCreateEvent_whenUserIsNotAuthenticated_throwsUserNotAuthenticatedException() {
         // Arrange
         EventRequestDTO request = setupEventRequest();
-        when(userService.getCurrentUser()).thenReturn(Optional.empty());
+        when(userService.getCurrentUserReference()).thenReturn(Optional.empty());
 
         // Act
         var thrown = assertThrows(UserNotAuthenticatedException.class, () -> eventService.createEvent(request));
@@ -0,0 +1,138 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.enums.IngestionDurability;
+import org.example.backend.enums.SentimentType;
+import org.example.backend.mapper.FeedbackMapperImpl;
+import org.example.backend.model.Event;
+import org.example.backend.model.Feedback;
+import org.example.backend.repository.EventRepository;
+import org.example.backend.repository.FeedbackRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({FeedbackIngestionService.class, FeedbackMapperImpl.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class FeedbackIngestionQueryCountTest {
+
+    @Autowired
+    private FeedbackIngestionService feedbackIngestionService;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private SentimentQueueService sentimentQueueService;
+
+    private Statistics statistics;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        feedbackRepository.deleteAll();
+        eventRepository.deleteAll();
+        event = eventRepository.save(Event.builder()
+                .title("valid-title")
+                .description("valid-description")
+                .build());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    List<FeedbackIngestionService.PendingFeedback> setupBatch(int size, UUID eventId) {
+        return IntStream.range(0, size)
+                .mapToObj(i -> new FeedbackIngestionService.PendingFeedback(Feedback.builder()
+                        .id(UUID.randomUUID())
+                        .createdAt(LocalDateTime.now())
+                        .content("feedback-" + i)
+                        .sentimentType(SentimentType.PENDING)
+                        .event(eventRepository.getReferenceById(eventId))
+                        .build(), new CompletableFuture<>()))
+                .toList();
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("A batch with pre-assigned ids is one batched insert without selects")
+    void testWrite_whenBatchIsValid_executesOneBatchedInsert() {
+        // Arrange
+        List<FeedbackIngestionService.PendingFeedback> batch = setupBatch(20, event.getId());
+
+        // Act
+        feedbackIngestionService.write(batch);
+
+        // Assert
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(20, statistics.getEntityInsertCount());
+        assertEquals(20, feedbackRepository.count());
+        assertTrue(batch.stream().allMatch(pending -> pending.written().isDone() && !pending.written().isCompletedExceptionally()));
+        assertTrue(feedbackRepository.existsById(batch.getFirst().feedback().getId()));
+
+        // Verify
+        verify(sentimentQueueService, times(20)).submit(any(Feedback.class));
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("A row for a deleted event fails alone while the rest of the batch is written")
+    void testWrite_whenOneRowIsInvalid_isolatesIt() {
+        // Arrange
+        List<FeedbackIngestionService.PendingFeedback> batch = new ArrayList<>(setupBatch(3, event.getId()));
+        FeedbackIngestionService.PendingFeedback orphan = setupBatch(1, UUID.randomUUID()).getFirst();
+        batch.add(1, orphan);
+
+        // Act
+        feedbackIngestionService.write(batch);
+
+        // Assert
+        assertEquals(3, feedbackRepository.count());
+        assertTrue(orphan.written().isCompletedExceptionally());
+        assertFalse(feedbackRepository.existsById(orphan.feedback().getId()));
+
+        // Verify
+        verify(sentimentQueueService, times(3)).submit(any(Feedback.class));
+        verify(sentimentQueueService, never()).submit(orphan.feedback());
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Write-behind is off unless enabled")
+    void testIsEnabled_whenNotConfigured_returnsFalse() {
+        // Act & Assert
+        assertFalse(feedbackIngestionService.isEnabled());
+        assertEquals(IngestionDurability.BUFFERED, feedbackIngestionService.getDurability());
+    }
+}
@@ -0,0 +1,284 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.example.backend.dto.feedback.FeedbackRequestDTO;
+import org.example.backend.dto.feedback.FeedbackResponseDTO;
+import org.example.backend.enums.IngestionDurability;
+import org.example.backend.enums.SentimentType;
+import org.example.backend.enums.UserRole;
+import org.example.backend.exception.NotFoundException;
+import org.example.backend.exception.ServiceUnavailableException;
+import org.example.backend.mapper.FeedbackMapperImpl;
+import org.example.backend.model.Event;
+import org.example.backend.model.Feedback;
+import org.example.backend.model.User;
+import org.example.backend.repository.EventRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@ExtendWith(MockitoExtension.class)
+class FeedbackIngestionServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private SentimentQueueService sentimentQueueService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private FeedbackIngestionService feedbackIngestionService;
+
+    private static final String TEST_CONTENT = "valid-content";
+    private static final UUID TEST_EVENT_ID = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        feedbackIngestionService.shutdown();
+    }
+
+    FeedbackIngestionService setupService(boolean enabled, IngestionDurability durability, int bufferCapacity) {
+        return setupService(enabled, durability, bufferCapacity, 2_000);
+    }
+
+    FeedbackIngestionService setupService(boolean enabled, IngestionDurability durability, int bufferCapacity, long commitTimeoutMillis) {
+        feedbackIngestionService = new FeedbackIngestionService(entityManager, new TransactionTemplate(transactionManager),
+                eventRepository, userService, new FeedbackMapperImpl(), sentimentQueueService, meterRegistry,
+                enabled, durability, bufferCapacity, 10, 10, commitTimeoutMillis, 60_000);
+        return feedbackIngestionService;
+    }
+
+    void setupKnownEventAndUser() {
+        when(eventRepository.existsById(TEST_EVENT_ID)).thenReturn(true);
+        when(eventRepository.getReferenceById(TEST_EVENT_ID)).thenReturn(Event.builder().id(TEST_EVENT_ID).build());
+        when(userService.getCurrentUserReference()).thenReturn(Optional.of(User.builder()
+                .id(UUID.randomUUID())
+                .role(UserRole.ROLE_USER)
+                .build()));
+    }
+
+    FeedbackRequestDTO setupFeedbackRequest() {
+        return FeedbackRequestDTO.builder()
+                .content(TEST_CONTENT)
+                .build();
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("Buffered submit is acknowledged with its id and written in the background")
+    void testSubmitFeedback_whenBuffered_acknowledgesAndWritesLater() {
+        // Arrange
+        FeedbackIngestionService service = setupService(true, IngestionDurability.BUFFERED, 100);
+        setupKnownEventAndUser();
+
+        // Act
+        FeedbackIngestionService.Submission submission = service.submitFeedback(TEST_EVENT_ID, setupFeedbackRequest());
+
+        // Assert
+        FeedbackResponseDTO response = submission.feedback();
+        assertFalse(submission.committed());
+        assertNotNull(response.getId());
+        assertNotNull(response.getCreatedAt());
+        assertEquals(TEST_EVENT_ID, response.getEventId());
+        assertEquals(SentimentType.PENDING, response.getSentimentType());
+
+        // Verify
+        ArgumentCaptor<Feedback> captor = ArgumentCaptor.forClass(Feedback.class);
+        await().untilAsserted(() -> verify(sentimentQueueService, times(1)).submit(captor.capture()));
+        assertEquals(response.getId(), captor.getValue().getId());
+        verify(entityManager, times(1)).persist(captor.getValue());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Committed submit returns only after its batch is written")
+    void testSubmitFeedback_whenCommitted_waitsForWrite() {
+        // Arrange
+        FeedbackIngestionService service = setupService(true, IngestionDurability.COMMITTED, 100);
+        setupKnownEventAndUser();
+
+        // Act
+        FeedbackIngestionService.Submission submission = service.submitFeedback(TEST_EVENT_ID, setupFeedbackRequest());
+
+        // Assert & Verify
+        FeedbackResponseDTO response = submission.feedback();
+        assertTrue(submission.committed());
+        verify(entityManager, times(1)).persist(argThat(feedback -> ((Feedback) feedback).getId().equals(response.getId())));
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Committed submit fails when its row cannot be written")
+    void testSubmitFeedback_whenCommittedWriteFails_throwsServiceUnavailable() {
+        // Arrange
+        FeedbackIngestionService service = setupService(true, IngestionDurability.COMMITTED, 100);
+        setupKnownEventAndUser();
+        doThrow(new RuntimeException("ex")).when(entityManager).persist(any(Feedback.class));
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> service.submitFeedback(TEST_EVENT_ID, setupFeedbackRequest()));
+        assertEquals(1.0, meterRegistry.get("feedback.ingest.failed").counter().count());
+        assertEquals(0.0, meterRegistry.get("feedback.ingest.dropped").counter().count());
+
+        // Verify
+        verify(sentimentQueueService, never()).submit(any(Feedback.class));
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("Full buffer rejects the submit instead of blocking the request")
+    void testSubmitFeedback_whenBufferIsFull_throwsServiceUnavailable() {
+        // Arrange
+        FeedbackIngestionService service = setupService(false, IngestionDurability.BUFFERED, 1);
+        setupKnownEventAndUser();
+        service.submitFeedback(TEST_EVENT_ID, setupFeedbackRequest());
+
+        // Act & Assert
+        assertThrows(ServiceUnavailableException.class, () -> service.submitFeedback(TEST_EVENT_ID, setupFeedbackRequest()));
+        assertEquals(1.0, meterRegistry.get("feedback.ingest.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("feedback.ingest.buffer").gauge().value());
+    }
+
+    @Order(5)
+    @Test
+    @DisplayName("Event existence is checked once and then served from the cache")
+    void testSubmitFeedback_whenEventIsKnown_skipsExistenceQuery() {
+        // Arrange
+        FeedbackIngestionService service = setupService(false, IngestionDurability.BUFFERED, 100);
+        setupKnownEventAndUser();
+
+        // Act
+        service.submitFeedback(TEST_EVENT_ID, setupFeedbackRequest());
+        service.submitFeedback(TEST_EVENT_ID, setupFeedbackRequest());
+
+        // Verify
+        verify(eventRepository, times(1)).existsById(TEST_EVENT_ID);
+    }
+
+    @Order(6)
+    @Test
+    @DisplayName("Unknown event is rejected before anything is buffered")
+    void testSubmitFeedback_whenEventDoesNotExist_throwsNotFound() {
+        // Arrange
+        FeedbackIngestionService service = setupService(false, IngestionDurability.BUFFERED, 100);
+        when(eventRepository.existsById(TEST_EVENT_ID)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> service.submitFeedback(TEST_EVENT_ID, setupFeedbackRequest()));
+        assertEquals(0.0, meterRegistry.get("feedback.ingest.buffer").gauge().value());
+
+        // Verify
+        verify(userService, never()).getCurrentUserReference();
+    }
+
+    @Order(7)
+    @Test
+    @DisplayName("Committed submit that outlives the timeout is acknowledged with its id and still written")
+    void testSubmitFeedback_whenCommitTimesOut_acknowledgesWithoutCommit() {
+        // Arrange
+        FeedbackIngestionService service = setupService(true, IngestionDurability.COMMITTED, 100, 50);
+        setupKnownEventAndUser();
+        doAnswer(invocation -> {
+            Thread.sleep(200);
+            return null;
+        }).when(entityManager).persist(any(Feedback.class));
+
+        // Act
+        FeedbackIngestionService.Submission submission = service.submitFeedback(TEST_EVENT_ID, setupFeedbackRequest());
+
+        // Assert
+        assertFalse(submission.committed());
+        assertNotNull(submission.feedback().getId());
+
+        // Verify
+        await().untilAsserted(() -> verify(sentimentQueueService, times(1))
+                .submit(argThat(feedback -> feedback.getId().equals(submission.feedback().getId()))));
+    }
+
+    @Order(8)
+    @Test
+    @DisplayName("Buffered row that cannot be written is counted as dropped")
+    void testSubmitFeedback_whenBufferedWriteFails_countsDrop() {
+        // Arrange
+        FeedbackIngestionService service = setupService(true, IngestionDurability.BUFFERED, 100);
+        setupKnownEventAndUser();
+        doThrow(new RuntimeException("ex")).when(entityManager).persist(any(Feedback.class));
+
+        // Act
+        service.submitFeedback(TEST_EVENT_ID, setupFeedbackRequest());
+
+        // Assert
+        await().untilAsserted(() -> assertEquals(1.0, meterRegistry.get("feedback.ingest.dropped").counter().count()));
+        assertEquals(1.0, meterRegistry.get("feedback.ingest.failed").counter().count());
+
+        // Verify
+        verify(sentimentQueueService, never()).submit(any(Feedback.class));
+    }
+
+    @Order(9)
+    @Test
+    @DisplayName("Interrupted writer saves the buffered rows and stops")
+    void testDrain_whenWriterIsInterrupted_writesBufferedRowsAndExits() {
+        // Arrange
+        FeedbackIngestionService service = setupService(true, IngestionDurability.BUFFERED, 100);
+        setupKnownEventAndUser();
+        AtomicBoolean writing = new AtomicBoolean();
+        AtomicBoolean released = new AtomicBoolean();
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            // Holds the first batch without reacting to the interrupt, so the flag is still set once it returns.
+            if (writing.compareAndSet(false, true)) {
+                while (!released.get()) {
+                    Thread.onSpinWait();
+                }
+            }
+            return null;
+        });
+        service.submitFeedback(TEST_EVENT_ID, setupFeedbackRequest());
+        await().untilTrue(writing);
+        service.submitFeedback(TEST_EVENT_ID, setupFeedbackRequest());
+        service.submitFeedback(TEST_EVENT_ID, setupFeedbackRequest());
+
+        // Act
+        service.writer.interrupt();
+        released.set(true);
+
+        // Assert
+        await().until(() -> !service.writer.isAlive());
+        assertThrows(ServiceUnavailableException.class, () -> service.submitFeedback(TEST_EVENT_ID, setupFeedbackRequest()));
+
+        // Verify
+        verify(entityManager, times(3)).persist(any(Feedback.class));
+        verify(sentimentQueueService, times(3)).submit(any(Feedback.class));
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.dto.feedback.FeedbackRequestDTO;
+import org.example.backend.dto.feedback.FeedbackResponseDTO;
+import org.example.backend.enums.UserRole;
+import org.example.backend.exception.NotFoundException;
+import org.example.backend.mapper.FeedbackMapperImpl;
+import org.example.backend.model.Event;
+import org.example.backend.model.User;
+import org.example.backend.repository.EventRepository;
+import org.example.backend.repository.FeedbackRepository;
+import org.example.backend.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({FeedbackService.class, FeedbackMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class FeedbackServiceQueryCountTest {
+
+    @Autowired
+    private FeedbackService feedbackService;
+
+    @Autowired
+    private FeedbackRepository feedbackRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private UserService userService;
+
+    @MockitoBean
+    private SentimentQueueService sentimentQueueService;
+
+    private Statistics statistics;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        feedbackRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User user = userRepository.save(User.builder()
+                .username("owner")
+                .email("owner@email.com")
+                .password("hashed-password")
+                .role(UserRole.ROLE_USER)
+                .build());
+        event = eventRepository.save(Event.builder()
+                .title("valid-title")
+                .description("valid-description")
+                .user(user)
+                .build());
+        when(userService.getCurrentUserReference()).thenReturn(Optional.of(userRepository.getReferenceById(user.getId())));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    FeedbackRequestDTO setupFeedbackRequest() {
+        return FeedbackRequestDTO.builder()
+                .content("valid-content")
+                .build();
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("A submit is one existence query and one insert, without loading the event or user")
+    void testSubmitFeedback_whenEventExists_executesOneQueryAndOneInsert() {
+        // Act
+        FeedbackResponseDTO response = feedbackService.submitFeedback(event.getId(), setupFeedbackRequest());
+
+        // Assert
+        assertEquals(event.getId(), response.getEventId());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertTrue(feedbackRepository.existsById(response.getId()));
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("A submit to a missing event stops after the existence query")
+    void testSubmitFeedback_whenEventDoesNotExist_executesOnlyTheExistenceQuery() {
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> feedbackService.submitFeedback(UUID.randomUUID(), setupFeedbackRequest()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityInsertCount());
+    }
+}
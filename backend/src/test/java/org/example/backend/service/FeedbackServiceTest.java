@@ -17,15 +17,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
-import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -51,10 +48,7 @@ class FeedbackServiceTest {
     private UserService userService;
 
     @Mock
-    private AiService aiService;
-
-    @Mock
-    private SimpMessagingTemplate messagingTemplate;
+    private SentimentQueueService sentimentQueueService;
 
     private static final String TEST_CONTENT = "valid-content";
     private static final UUID TEST_EVENT_ID = UUID.randomUUID();
@@ -114,8 +108,9 @@ class FeedbackServiceTest {
         Optional<User> user = Optional.ofNullable(setupUser());
         Event event = setupEvent();
 
-        when(eventRepository.findById(TEST_EVENT_ID)).thenReturn(Optional.of(event));
-        when(userService.getCurrentUser()).thenReturn(user);
+        when(eventRepository.existsById(TEST_EVENT_ID)).thenReturn(true);
+        when(eventRepository.getReferenceById(TEST_EVENT_ID)).thenReturn(event);
+        when(userService.getCurrentUserReference()).thenReturn(user);
         when(feedbackRepository.save(any(Feedback.class))).thenReturn(savedFeedback);
         when(feedbackMapper.toResponse(any(Feedback.class))).thenReturn(FeedbackResponseDTO.builder()
                 .id(savedFeedback.getId())
@@ -123,7 +118,6 @@ class FeedbackServiceTest {
                 .sentimentType(savedFeedback.getSentimentType())
                 .eventId(TEST_EVENT_ID)
                 .build());
-        doNothing().when(feedbackService).analyzeAndUpdateSentimentAsync(any(Feedback.class));
 
         // Act
         FeedbackResponseDTO feedback = feedbackService.submitFeedback(TEST_EVENT_ID, request);
@@ -136,6 +130,8 @@ class FeedbackServiceTest {
 
         // Verify
         verify(feedbackRepository, times(1)).save(any(Feedback.class));
+        verify(sentimentQueueService, times(1)).submit(savedFeedback);
+        verify(eventRepository, never()).findById(any(UUID.class));
     }
 
     @Order(2)
@@ -145,7 +141,7 @@ class FeedbackServiceTest {
         // Arrange
         FeedbackRequestDTO request = setupFeedbackRequest();
 
-        when(eventRepository.findById(TEST_EVENT_ID)).thenReturn(Optional.empty());
+        when(eventRepository.existsById(TEST_EVENT_ID)).thenReturn(false);
 
         // Act
         var thrown = assertThrows(NotFoundException.class, () -> feedbackService.submitFeedback(TEST_EVENT_ID, request));
@@ -154,10 +150,11 @@ class FeedbackServiceTest {
         assertNotNull(thrown);
 
         // Verify
-        verify(userService, never()).getCurrentUser();
+        verify(userService, never()).getCurrentUserReference();
         verify(feedbackRepository, never()).save(any(Feedback.class));
         verify(feedbackMapper, never()).toResponse(any(Feedback.class));
-        verify(eventRepository, times(1)).findById(TEST_EVENT_ID);
+        verify(eventRepository, times(1)).existsById(TEST_EVENT_ID);
+        verify(eventRepository, never()).getReferenceById(any(UUID.class));
     }
 
     @Order(3)
@@ -290,46 +287,4 @@ class FeedbackServiceTest {
         // Verify
         verify(eventRepository, times(1)).findById(TEST_EVENT_ID);
     }
-
-    @Order(9)
-    @Test
-    @DisplayName("Test and analyze sentiment success")
-    void testAnalyzeAndUpdateSentimentAsync_whenSentimentSucceeds_updatesFeedbackAndBroadcasts() {
-        // Arrange
-        Feedback feedback = setupFeedback();
-        FeedbackResponseDTO response = setupFeedbackResponse();
-
-        when(aiService.analyzeSentiment(feedback.getContent())).thenReturn(CompletableFuture.completedFuture(SentimentType.POSITIVE));
-        when(feedbackMapper.toResponse(feedback)).thenReturn(response);
-
-        // Act
-        feedbackService.analyzeAndUpdateSentimentAsync(feedback);
-
-        // Assert & Verify
-        await().untilAsserted(() -> {
-            assertEquals(SentimentType.POSITIVE, feedback.getSentimentType());
-            verify(feedbackRepository, times(1)).save(feedback);
-            verify(messagingTemplate, times(1)).convertAndSend("/topic/feedback-updates", response);
-        });
-    }
-
-    @Order(10)
-    @Test
-    @DisplayName("Test and analyze sentiment fails")
-    void testAnalyzeAndUpdateSentimentAsync_whenSentimentFails_doesNotThrowAndSkipsBroadcast() {
-        // Arrange
-        Feedback feedback = setupFeedback();
-        when(aiService.analyzeSentiment(anyString())).thenReturn(CompletableFuture.failedFuture(new RuntimeException("ex")));
-
-        // Act
-        feedbackService.analyzeAndUpdateSentimentAsync(feedback);
-        await().untilAsserted(() -> verify(aiService, atLeastOnce()).analyzeSentiment(anyString()));
-
-        // Assert
-        assertEquals(SentimentType.PENDING, feedback.getSentimentType());
-
-        // Verify
-        verify(feedbackRepository, never()).save(any(Feedback.class));
-        verify(messagingTemplate, never()).convertAndSend(eq("/topic/feedback-updates"), any(Object.class));
-    }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package org.example.backend.service;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import org.example.backend.dto.token.ParsedTokenDTO;
+import org.example.backend.enums.TokenType;
 import org.example.backend.enums.UserRole;
 import org.example.backend.model.User;
 import org.example.backend.userDetails.CustomUserDetails;
@@ -50,6 +52,7 @@ class JwtServiceTest {
     void setup() {
         jwtService = new JwtService();
         ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
+        ReflectionTestUtils.setField(jwtService, "refreshExpiration", 600_000L);
         ReflectionTestUtils.setField(jwtService, "secretKey", BASE64_KEY);
     }
 
@@ -256,4 +259,69 @@ class JwtServiceTest {
         // Assert
         assertNotNull(signInKey);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Parses all claims from valid token in one pass")
+    void testParseToken_whenTokenIsValid_returnsParsedToken() {
+        // Arrange
+        User user = setupUser();
+        String token = jwtService.generateToken(user);
+
+        // Act
+        ParsedTokenDTO parsed = jwtService.parseToken(token);
+
+        // Assert
+        assertEquals(token, parsed.getToken());
+        assertEquals(TEST_USERNAME, parsed.getSubject());
+        assertEquals(user.getId(), parsed.getUserId());
+        assertEquals(UserRole.ROLE_USER, parsed.getRole());
+        assertEquals(TokenType.BEARER, parsed.getTokenType());
+        assertFalse(parsed.isExpired());
+        assertTrue(jwtService.isTokenValid(parsed, new CustomUserDetails(user)));
+    }
+
+    @Test
+    @DisplayName("Parse throws exception when token is expired")
+    void testParseToken_whenTokenIsExpired_throwsExpiredJwtException() {
+        // Arrange
+        User user = setupUser();
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", -1000L);
+        String expiredToken = jwtService.generateToken(user);
+
+        // Act & Assert
+        assertThrows(ExpiredJwtException.class, () -> jwtService.parseToken(expiredToken));
+    }
+
+    @Test
+    @DisplayName("Signing key is reused between calls")
+    void testGetSignInKey_whenCalledTwice_returnsSameKey() {
+        // Act & Assert
+        assertSame(jwtService.getSignInKey(), jwtService.getSignInKey());
+    }
+
+    @Test
+    @DisplayName("Refresh token carries its type and outlives the access token")
+    void testGenerateRefreshToken_whenUserIsValid_returnsRefreshToken() {
+        // Arrange
+        User user = setupUser();
+
+        // Act
+        ParsedTokenDTO access = jwtService.parseToken(jwtService.generateToken(user));
+        ParsedTokenDTO refresh = jwtService.parseToken(jwtService.generateRefreshToken(user));
+
+        // Assert
+        assertEquals(TokenType.REFRESH, refresh.getTokenType());
+        assertEquals(user.getId(), refresh.getUserId());
+        assertTrue(refresh.getExpiresAt().isAfter(access.getExpiresAt()));
+    }
+
+    @Test
+    @DisplayName("Refresh tokens issued in the same second are distinct")
+    void testGenerateRefreshToken_whenCalledTwice_returnsDistinctTokens() {
+        // Arrange
+        User user = setupUser();
+
+        // Act & Assert
+        assertNotEquals(jwtService.generateRefreshToken(user), jwtService.generateRefreshToken(user));
+    }
+}
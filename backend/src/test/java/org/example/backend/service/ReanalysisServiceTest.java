@@ -0,0 +1,340 @@
+package org.example.backend.service;
+
+import org.example.backend.dto.reanalysis.ReanalysisProgressDTO;
+import org.example.backend.dto.sentiment.FeedbackContentDTO;
+import org.example.backend.dto.websocket.WebSocketMessageDTO;
+import org.example.backend.enums.ReanalysisStatus;
+import org.example.backend.enums.SentimentType;
+import org.example.backend.exception.AlreadyExistsException;
+import org.example.backend.exception.BadRequestException;
+import org.example.backend.exception.NotFoundException;
+import org.example.backend.model.ReanalysisJob;
+import org.example.backend.repository.EventRepository;
+import org.example.backend.repository.FeedbackRepository;
+import org.example.backend.repository.ReanalysisJobRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@ExtendWith(MockitoExtension.class)
+class ReanalysisServiceTest {
+
+    @Mock
+    private ReanalysisJobRepository jobRepository;
+
+    @Mock
+    private FeedbackRepository feedbackRepository;
+
+    @Mock
+    private EventRepository eventRepository;
+
+    @Mock
+    private AiService aiService;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ReanalysisService reanalysisService;
+
+    private static final UUID EVENT_ID = UUID.randomUUID();
+    private static final UUID FIRST_ID = new UUID(0, 0);
+    private static final String TEST_ADMIN = "admin";
+
+    @BeforeEach
+    void setUp() {
+        reanalysisService = new ReanalysisService(jobRepository, feedbackRepository, eventRepository, aiService,
+                messagingTemplate, new TransactionTemplate(transactionManager), 2, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reanalysisService.shutdown();
+        SecurityContextHolder.clearContext();
+    }
+
+    ReanalysisJob setupJob(ReanalysisStatus status) {
+        return ReanalysisJob.builder()
+                .id(UUID.randomUUID())
+                .eventId(EVENT_ID)
+                .status(status)
+                .requestedBy(TEST_ADMIN)
+                .startedAt(Instant.now())
+                .updatedAt(Instant.now())
+                .build();
+    }
+
+    FeedbackContentDTO setupContent(long id, String content) {
+        return new FeedbackContentDTO(new UUID(0, id), content);
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("Job pages through the event, bulk updates per sentiment and completes")
+    void testRun_whenPagesAreAnalyzed_updatesInBulkAndCompletes() {
+        // Arrange
+        ReanalysisJob job = setupJob(ReanalysisStatus.RUNNING);
+        FeedbackContentDTO first = setupContent(1, "great");
+        FeedbackContentDTO second = setupContent(2, "awful");
+        FeedbackContentDTO third = setupContent(3, "fine");
+
+        when(feedbackRepository.findContentByEventAfter(eq(EVENT_ID), eq(SentimentType.PENDING), any(UUID.class), any(PageRequest.class)))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+        when(aiService.reanalyzeSentiment("great")).thenReturn(CompletableFuture.completedFuture(SentimentType.POSITIVE));
+        when(aiService.reanalyzeSentiment("awful")).thenReturn(CompletableFuture.completedFuture(SentimentType.NEGATIVE));
+        when(aiService.reanalyzeSentiment("fine")).thenReturn(CompletableFuture.completedFuture(SentimentType.POSITIVE));
+        when(feedbackRepository.updateSentiment(anyList(), any(SentimentType.class), eq(false))).thenReturn(1);
+
+        // Act
+        reanalysisService.run(job);
+
+        // Assert
+        assertEquals(ReanalysisStatus.COMPLETED, job.getStatus());
+        assertEquals(3, job.getProcessedCount());
+        assertEquals(3, job.getUpdatedCount());
+        assertEquals(0, job.getFailedCount());
+        assertEquals(third.getId(), job.getLastFeedbackId());
+
+        // Verify
+        verify(feedbackRepository).findContentByEventAfter(EVENT_ID, SentimentType.PENDING, FIRST_ID, PageRequest.of(0, 2));
+        verify(feedbackRepository).findContentByEventAfter(EVENT_ID, SentimentType.PENDING, second.getId(), PageRequest.of(0, 2));
+        verify(feedbackRepository).updateSentiment(List.of(first.getId()), SentimentType.POSITIVE, false);
+        verify(feedbackRepository).updateSentiment(List.of(second.getId()), SentimentType.NEGATIVE, false);
+        verify(feedbackRepository).updateSentiment(List.of(third.getId()), SentimentType.POSITIVE, false);
+        verify(messagingTemplate, times(3)).convertAndSendToUser(eq(TEST_ADMIN), eq("/queue/reanalysis"), any(WebSocketMessageDTO.class));
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Resumed job continues after its checkpoint")
+    void testRun_whenJobHasCheckpoint_startsAfterIt() {
+        // Arrange
+        ReanalysisJob job = setupJob(ReanalysisStatus.RUNNING);
+        job.setEventId(null);
+        job.setLastFeedbackId(new UUID(0, 7));
+        job.setProcessedCount(7);
+        when(feedbackRepository.findContentAfter(SentimentType.PENDING, new UUID(0, 7), PageRequest.of(0, 2)))
+                .thenReturn(List.of(setupContent(8, "great")));
+        when(aiService.reanalyzeSentiment("great")).thenReturn(CompletableFuture.completedFuture(SentimentType.POSITIVE));
+
+        // Act
+        reanalysisService.run(job);
+
+        // Assert
+        assertEquals(ReanalysisStatus.COMPLETED, job.getStatus());
+        assertEquals(8, job.getProcessedCount());
+        assertEquals(new UUID(0, 8), job.getLastFeedbackId());
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Failed item is counted and retried as the head of the next page")
+    void testRun_whenSomeInferenceFails_retriesFailedItem() {
+        // Arrange
+        ReanalysisJob job = setupJob(ReanalysisStatus.RUNNING);
+        FeedbackContentDTO flaky = setupContent(2, "flaky");
+        when(feedbackRepository.findContentByEventAfter(eq(EVENT_ID), eq(SentimentType.PENDING), any(UUID.class), any(PageRequest.class)))
+                .thenReturn(List.of(setupContent(1, "great"), flaky))
+                .thenReturn(List.of(flaky));
+        when(aiService.reanalyzeSentiment("great")).thenReturn(CompletableFuture.completedFuture(SentimentType.POSITIVE));
+        when(aiService.reanalyzeSentiment("flaky"))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("ex")))
+                .thenReturn(CompletableFuture.completedFuture(SentimentType.NEGATIVE));
+
+        // Act
+        reanalysisService.run(job);
+
+        // Assert
+        assertEquals(ReanalysisStatus.COMPLETED, job.getStatus());
+        assertEquals(2, job.getProcessedCount());
+        assertEquals(1, job.getFailedCount());
+        assertEquals(flaky.getId(), job.getLastFeedbackId());
+
+        // Verify
+        verify(feedbackRepository).findContentByEventAfter(EVENT_ID, SentimentType.PENDING, new UUID(0, 1), PageRequest.of(0, 2));
+        verify(feedbackRepository, times(1)).updateSentiment(List.of(new UUID(0, 1)), SentimentType.POSITIVE, false);
+        verify(feedbackRepository, times(1)).updateSentiment(List.of(flaky.getId()), SentimentType.NEGATIVE, false);
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("Page where nothing could be analyzed fails the job without moving the checkpoint")
+    void testRun_whenWholePageFails_keepsCheckpointAndFails() {
+        // Arrange
+        ReanalysisJob job = setupJob(ReanalysisStatus.RUNNING);
+        job.setLastFeedbackId(new UUID(0, 4));
+        when(feedbackRepository.findContentByEventAfter(eq(EVENT_ID), eq(SentimentType.PENDING), any(UUID.class), any(PageRequest.class)))
+                .thenReturn(List.of(setupContent(5, "a"), setupContent(6, "b")));
+        when(aiService.reanalyzeSentiment(anyString())).thenReturn(CompletableFuture.failedFuture(new RuntimeException("ex")));
+
+        // Act
+        reanalysisService.run(job);
+
+        // Assert
+        assertEquals(ReanalysisStatus.FAILED, job.getStatus());
+        assertEquals(new UUID(0, 4), job.getLastFeedbackId());
+        assertEquals(0, job.getProcessedCount());
+
+        // Verify
+        verify(feedbackRepository, never()).updateSentiment(anyList(), any(SentimentType.class), anyBoolean());
+        verify(jobRepository, times(1)).save(job);
+    }
+
+    @Order(5)
+    @Test
+    @DisplayName("Start creates a running job and processes it in the background")
+    void testStartReanalysis_whenNoJobIsRunning_launchesJob() {
+        // Arrange
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(TEST_ADMIN, null, "ROLE_ADMIN"));
+        when(eventRepository.existsById(EVENT_ID)).thenReturn(true);
+        when(jobRepository.existsByStatus(ReanalysisStatus.RUNNING)).thenReturn(false);
+        when(jobRepository.save(any(ReanalysisJob.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(feedbackRepository.findContentByEventAfter(eq(EVENT_ID), eq(SentimentType.PENDING), any(UUID.class), any(PageRequest.class)))
+                .thenReturn(List.of());
+
+        // Act
+        ReanalysisProgressDTO progress = reanalysisService.startReanalysis(EVENT_ID);
+
+        // Assert
+        assertEquals(ReanalysisStatus.RUNNING, progress.getStatus());
+        assertEquals(EVENT_ID, progress.getEventId());
+
+        // Verify
+        ArgumentCaptor<ReanalysisJob> captor = ArgumentCaptor.forClass(ReanalysisJob.class);
+        await().untilAsserted(() -> {
+            verify(jobRepository, times(2)).save(captor.capture());
+            assertEquals(ReanalysisStatus.COMPLETED, captor.getValue().getStatus());
+        });
+        assertEquals(TEST_ADMIN, captor.getValue().getRequestedBy());
+        await().untilAsserted(() -> verify(messagingTemplate, times(2))
+                .convertAndSendToUser(eq(TEST_ADMIN), eq("/queue/reanalysis"), any(WebSocketMessageDTO.class)));
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Order(6)
+    @Test
+    @DisplayName("Start is rejected while a job is running or when the event does not exist")
+    void testStartReanalysis_whenJobIsRunningOrEventIsMissing_throws() {
+        // Arrange
+        UUID missingEvent = UUID.randomUUID();
+        when(eventRepository.existsById(missingEvent)).thenReturn(false);
+        when(jobRepository.existsByStatus(ReanalysisStatus.RUNNING)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(NotFoundException.class, () -> reanalysisService.startReanalysis(missingEvent));
+        assertThrows(AlreadyExistsException.class, () -> reanalysisService.startReanalysis(null));
+        verify(jobRepository, never()).save(any(ReanalysisJob.class));
+    }
+
+    @Order(7)
+    @Test
+    @DisplayName("Completed job cannot be resumed")
+    void testResumeReanalysis_whenJobIsCompleted_throwsBadRequest() {
+        // Arrange
+        ReanalysisJob job = setupJob(ReanalysisStatus.COMPLETED);
+        when(jobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> reanalysisService.resumeReanalysis(job.getId()));
+    }
+
+    @Order(8)
+    @Test
+    @DisplayName("Jobs left running by the previous process are marked interrupted on startup")
+    void testMarkInterruptedJobs_whenJobsWereRunning_marksThemInterrupted() {
+        // Arrange
+        ReanalysisJob first = setupJob(ReanalysisStatus.RUNNING);
+        ReanalysisJob second = setupJob(ReanalysisStatus.RUNNING);
+        when(jobRepository.findAllByStatus(ReanalysisStatus.RUNNING)).thenReturn(List.of(first, second));
+
+        // Act
+        reanalysisService.markInterruptedJobs();
+
+        // Assert
+        assertEquals(ReanalysisStatus.INTERRUPTED, first.getStatus());
+        assertEquals(ReanalysisStatus.INTERRUPTED, second.getStatus());
+        verify(jobRepository, times(2)).save(any(ReanalysisJob.class));
+    }
+
+    @Order(9)
+    @Test
+    @DisplayName("Checkpoint stops before a feedback that keeps failing and later results are not written")
+    void testRun_whenItemKeepsFailing_stopsCheckpointBeforeIt() {
+        // Arrange
+        ReanalysisJob job = setupJob(ReanalysisStatus.RUNNING);
+        FeedbackContentDTO broken = setupContent(2, "broken");
+        FeedbackContentDTO fine = setupContent(3, "fine");
+        when(feedbackRepository.findContentByEventAfter(eq(EVENT_ID), eq(SentimentType.PENDING), any(UUID.class), any(PageRequest.class)))
+                .thenReturn(List.of(setupContent(1, "great"), broken))
+                .thenReturn(List.of(broken, fine));
+        when(aiService.reanalyzeSentiment("great")).thenReturn(CompletableFuture.completedFuture(SentimentType.POSITIVE));
+        when(aiService.reanalyzeSentiment("broken")).thenReturn(CompletableFuture.failedFuture(new RuntimeException("ex")));
+        when(aiService.reanalyzeSentiment("fine")).thenReturn(CompletableFuture.completedFuture(SentimentType.NEUTRAL));
+
+        // Act
+        reanalysisService.run(job);
+
+        // Assert
+        assertEquals(ReanalysisStatus.FAILED, job.getStatus());
+        assertEquals(new UUID(0, 1), job.getLastFeedbackId());
+        assertEquals(1, job.getProcessedCount());
+        assertEquals(2, job.getFailedCount());
+
+        // Verify
+        verify(feedbackRepository, times(1)).updateSentiment(List.of(new UUID(0, 1)), SentimentType.POSITIVE, false);
+        verify(feedbackRepository, never()).updateSentiment(List.of(fine.getId()), SentimentType.NEUTRAL, false);
+    }
+
+    @Order(10)
+    @Test
+    @DisplayName("Page whose commit fails leaves the checkpoint where it was")
+    void testRun_whenCommitFails_keepsCheckpoint() {
+        // Arrange
+        ReanalysisJob job = setupJob(ReanalysisStatus.RUNNING);
+        job.setLastFeedbackId(new UUID(0, 4));
+        when(feedbackRepository.findContentByEventAfter(eq(EVENT_ID), eq(SentimentType.PENDING), any(UUID.class), any(PageRequest.class)))
+                .thenReturn(List.of(setupContent(5, "a"), setupContent(6, "b")));
+        when(aiService.reanalyzeSentiment(anyString())).thenReturn(CompletableFuture.completedFuture(SentimentType.POSITIVE));
+        when(feedbackRepository.updateSentiment(anyList(), any(SentimentType.class), eq(false))).thenReturn(2);
+        doThrow(new TransactionSystemException("Commit failed")).when(transactionManager).commit(any());
+
+        // Act
+        reanalysisService.run(job);
+
+        // Assert
+        assertEquals(ReanalysisStatus.FAILED, job.getStatus());
+        assertEquals(new UUID(0, 4), job.getLastFeedbackId());
+        assertEquals(0, job.getProcessedCount());
+        assertEquals(0, job.getUpdatedCount());
+
+        // Verify
+        ArgumentCaptor<ReanalysisJob> saved = ArgumentCaptor.forClass(ReanalysisJob.class);
+        verify(jobRepository, times(2)).save(saved.capture());
+        assertEquals(new UUID(0, 4), saved.getAllValues().getLast().getLastFeedbackId());
+        assertEquals(ReanalysisStatus.FAILED, saved.getAllValues().getLast().getStatus());
+    }
+}
@@ -0,0 +1,513 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.analyzer.LexiconSentimentAnalyzer;
+import org.example.backend.dto.feedback.FeedbackResponseDTO;
+import org.example.backend.enums.SentimentType;
+import org.example.backend.mapper.FeedbackMapper;
+import org.example.backend.model.Event;
+import org.example.backend.model.Feedback;
+import org.example.backend.model.User;
+import org.example.backend.repository.FeedbackRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@ExtendWith(MockitoExtension.class)
+class SentimentQueueServiceTest {
+
+    @Mock
+    private FeedbackRepository feedbackRepository;
+
+    @Mock
+    private FeedbackMapper feedbackMapper;
+
+    @Mock
+    private AiService aiService;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private SentimentUpdateService sentimentUpdateService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SentimentQueueService sentimentQueueService;
+
+    private static final String TEST_CONTENT = "valid-content";
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(sentimentUpdateService.updateSentiment(any(UUID.class), any(SentimentType.class), anyBoolean()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (sentimentQueueService != null) {
+            sentimentQueueService.shutdown();
+        }
+    }
+
+    SentimentQueueService setupQueue(int capacity, int maxInFlight) {
+        return setupQueue(capacity, maxInFlight, 5_000);
+    }
+
+    SentimentQueueService setupQueue(int capacity, int maxInFlight, long latencyBudgetMillis) {
+        return setupQueue(capacity, maxInFlight, latencyBudgetMillis, 50);
+    }
+
+    SentimentQueueService setupQueue(int capacity, int maxInFlight, long latencyBudgetMillis, int perUserCap) {
+        return setupQueue(capacity, maxInFlight, latencyBudgetMillis, perUserCap, 1.0, 20);
+    }
+
+    SentimentQueueService setupQueue(int capacity, int maxInFlight, long latencyBudgetMillis, int perUserCap,
+                                     double perEventShare, int topEvents) {
+        sentimentQueueService = new SentimentQueueService(feedbackRepository, feedbackMapper, aiService,
+                new LexiconSentimentAnalyzer(), messagingTemplate, sentimentUpdateService, meterRegistry,
+                latencyBudgetMillis, capacity, maxInFlight, perUserCap, perEventShare, 16, 2, 100, topEvents);
+        return sentimentQueueService;
+    }
+
+    Feedback setupFeedback() {
+        return Feedback.builder()
+                .id(UUID.randomUUID())
+                .content(TEST_CONTENT)
+                .sentimentType(SentimentType.PENDING)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("Submitted feedback is analyzed, saved and broadcast")
+    void testSubmit_whenSentimentSucceeds_updatesFeedbackAndBroadcasts() {
+        // Arrange
+        SentimentQueueService queue = setupQueue(10, 4);
+        Feedback feedback = setupFeedback();
+        FeedbackResponseDTO response = FeedbackResponseDTO.builder().id(feedback.getId()).build();
+
+        when(aiService.analyzeSentiment(TEST_CONTENT)).thenReturn(CompletableFuture.completedFuture(SentimentType.POSITIVE));
+        when(feedbackMapper.toResponse(feedback)).thenReturn(response);
+
+        // Act
+        queue.submit(feedback);
+
+        // Assert & Verify
+        await().untilAsserted(() -> {
+            assertEquals(SentimentType.POSITIVE, feedback.getSentimentType());
+            verify(sentimentUpdateService, times(1)).updateSentiment(feedback.getId(), SentimentType.POSITIVE, false);
+            verify(messagingTemplate, times(1)).convertAndSend("/topic/feedback-updates", response);
+        });
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Failed remote analysis stores the local result as provisional")
+    void testSubmit_whenSentimentFails_storesProvisionalLocalResult() {
+        // Arrange
+        SentimentQueueService queue = setupQueue(10, 4);
+        Feedback feedback = setupFeedback();
+        feedback.setContent("Really boring talk");
+        when(aiService.analyzeSentiment(anyString())).thenReturn(CompletableFuture.failedFuture(new RuntimeException("ex")));
+
+        // Act
+        queue.submit(feedback);
+
+        // Assert & Verify
+        await().untilAsserted(() -> {
+            assertEquals(SentimentType.NEGATIVE, feedback.getSentimentType());
+            assertTrue(feedback.isSentimentProvisional());
+            verify(sentimentUpdateService, times(1)).updateSentiment(feedback.getId(), SentimentType.NEGATIVE, true);
+            verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/feedback-updates"), nullable(Object.class));
+        });
+        assertEquals(1.0, meterRegistry.get("sentiment.provisional").counter().count());
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Submit inside a transaction waits for the commit")
+    void testSubmit_whenTransactionIsActive_enqueuesAfterCommit() {
+        // Arrange
+        SentimentQueueService queue = setupQueue(10, 4);
+        Feedback feedback = setupFeedback();
+        when(aiService.analyzeSentiment(TEST_CONTENT)).thenReturn(CompletableFuture.completedFuture(SentimentType.NEUTRAL));
+
+        // Act
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            queue.submit(feedback);
+            verify(aiService, after(100).never()).analyzeSentiment(anyString());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Verify
+        await().untilAsserted(() -> verify(sentimentUpdateService, times(1))
+                .updateSentiment(eq(feedback.getId()), any(SentimentType.class), anyBoolean()));
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("Full queue defers the feedback instead of blocking the caller")
+    void testEnqueue_whenQueueIsFull_defersFeedback() {
+        // Arrange
+        SentimentQueueService queue = setupQueue(1, 1);
+        when(aiService.analyzeSentiment(anyString())).thenReturn(new CompletableFuture<>());
+
+        // Act
+        assertTrue(queue.enqueue(setupFeedback()));
+        await().untilAsserted(() -> verify(aiService, times(1)).analyzeSentiment(anyString()));
+        assertTrue(queue.enqueue(setupFeedback()));
+        boolean accepted = queue.enqueue(setupFeedback());
+
+        // Assert
+        assertFalse(accepted);
+        assertEquals(1.0, meterRegistry.get("sentiment.queue.deferred").counter().count());
+        assertEquals(1.0, meterRegistry.get("sentiment.queue.depth").gauge().value());
+        assertEquals(1.0, meterRegistry.get("sentiment.queue.in-flight").gauge().value());
+    }
+
+    @Order(5)
+    @Test
+    @DisplayName("Startup rescan pages through pending rows and re-enqueues them")
+    void testRecoverPending_whenPendingRowsExist_enqueuesAll() {
+        // Arrange
+        SentimentQueueService queue = setupQueue(10, 4);
+        Feedback first = setupFeedback();
+        Feedback second = setupFeedback();
+        Feedback third = setupFeedback();
+
+        when(feedbackRepository.findBySentimentTypeAfter(eq(SentimentType.PENDING), any(UUID.class), any(Pageable.class)))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+        when(aiService.analyzeSentiment(TEST_CONTENT)).thenReturn(CompletableFuture.completedFuture(SentimentType.POSITIVE));
+
+        // Act
+        queue.recoverPending();
+
+        // Assert & Verify
+        await().untilAsserted(() -> verify(sentimentUpdateService, times(3))
+                .updateSentiment(any(UUID.class), any(SentimentType.class), anyBoolean()));
+        verify(feedbackRepository, times(1)).findBySentimentTypeAfter(SentimentType.PENDING, second.getId(), Pageable.ofSize(2));
+    }
+
+    @Order(6)
+    @Test
+    @DisplayName("Rescan skips feedback that is already queued or in flight")
+    void testRescan_whenFeedbackIsInFlight_doesNotAnalyzeTwice() {
+        // Arrange
+        SentimentQueueService queue = setupQueue(10, 4);
+        Feedback feedback = setupFeedback();
+        when(aiService.analyzeSentiment(anyString())).thenReturn(new CompletableFuture<>());
+        when(feedbackRepository.findBySentimentTypeAfter(eq(SentimentType.PENDING), any(UUID.class), any(Pageable.class)))
+                .thenReturn(List.of(feedback));
+
+        // Act
+        queue.submit(feedback);
+        await().untilAsserted(() -> verify(aiService, times(1)).analyzeSentiment(anyString()));
+        queue.rescan();
+
+        // Verify
+        verify(aiService, after(100).times(1)).analyzeSentiment(anyString());
+    }
+
+    @Order(7)
+    @Test
+    @DisplayName("Shutdown stops accepting work and leaves queued feedback pending")
+    void testShutdown_whenItemsAreQueued_leavesThemPending() {
+        // Arrange
+        SentimentQueueService queue = setupQueue(10, 1);
+        when(aiService.analyzeSentiment(anyString())).thenReturn(new CompletableFuture<>());
+        queue.enqueue(setupFeedback());
+        await().untilAsserted(() -> verify(aiService, times(1)).analyzeSentiment(anyString()));
+        queue.enqueue(setupFeedback());
+
+        // Act
+        queue.shutdown();
+        boolean accepted = queue.enqueue(setupFeedback());
+
+        // Assert
+        assertFalse(accepted);
+        assertEquals(0.0, meterRegistry.get("sentiment.queue.depth").gauge().value());
+
+        // Verify
+        verify(aiService, times(1)).analyzeSentiment(anyString());
+        verify(sentimentUpdateService, never()).updateSentiment(any(UUID.class), any(SentimentType.class), anyBoolean());
+    }
+
+    @Order(8)
+    @Test
+    @DisplayName("Slow remote analysis is replaced by a provisional result and upgraded later")
+    void testSubmit_whenRemoteMissesBudget_upgradesProvisionalResult() {
+        // Arrange
+        SentimentQueueService queue = setupQueue(10, 4, 50);
+        Feedback feedback = setupFeedback();
+        feedback.setContent("Great talk");
+        CompletableFuture<SentimentType> remote = new CompletableFuture<>();
+        when(aiService.analyzeSentiment(anyString())).thenReturn(remote);
+
+        // Act
+        queue.submit(feedback);
+        await().untilAsserted(() -> {
+            assertEquals(SentimentType.POSITIVE, feedback.getSentimentType());
+            assertTrue(feedback.isSentimentProvisional());
+        });
+        remote.complete(SentimentType.NEUTRAL);
+
+        // Assert & Verify
+        await().untilAsserted(() -> {
+            assertEquals(SentimentType.NEUTRAL, feedback.getSentimentType());
+            assertFalse(feedback.isSentimentProvisional());
+            verify(sentimentUpdateService, times(1)).updateSentiment(feedback.getId(), SentimentType.POSITIVE, true);
+            verify(sentimentUpdateService, times(1)).updateSentiment(feedback.getId(), SentimentType.NEUTRAL, false);
+        });
+        assertFalse(remote.isCancelled());
+        assertEquals(1.0, meterRegistry.get("sentiment.provisional.upgraded").counter().count());
+    }
+
+    @Order(9)
+    @Test
+    @DisplayName("User over the per-user cap is deferred while other users are still accepted")
+    void testEnqueue_whenUserExceedsCap_defersOnlyThatUser() {
+        // Arrange
+        SentimentQueueService queue = setupQueue(10, 1, 5_000, 2);
+        when(aiService.analyzeSentiment(anyString())).thenReturn(new CompletableFuture<>());
+        User flooding = User.builder().id(UUID.randomUUID()).build();
+        User other = User.builder().id(UUID.randomUUID()).build();
+        queue.enqueue(setupFeedback());
+        await().untilAsserted(() -> verify(aiService, times(1)).analyzeSentiment(anyString()));
+
+        // Act
+        List<Boolean> accepted = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Feedback feedback = setupFeedback();
+            feedback.setUser(flooding);
+            accepted.add(queue.enqueue(feedback));
+        }
+        Feedback otherFeedback = setupFeedback();
+        otherFeedback.setUser(other);
+        boolean otherAccepted = queue.enqueue(otherFeedback);
+
+        // Assert
+        assertEquals(List.of(true, true, false), accepted);
+        assertTrue(otherAccepted);
+        assertEquals(1.0, meterRegistry.get("sentiment.queue.user-capped").counter().count());
+        assertEquals(3.0, meterRegistry.get("sentiment.queue.depth").gauge().value());
+    }
+
+    @Order(10)
+    @Test
+    @DisplayName("Queued work is drained round-robin across events")
+    void testDispatch_whenOneEventHasBacklog_interleavesOtherEvents() {
+        // Arrange
+        SentimentQueueService queue = setupQueue(10, 1);
+        CompletableFuture<SentimentType> blocker = new CompletableFuture<>();
+        when(aiService.analyzeSentiment(anyString()))
+                .thenReturn(blocker)
+                .thenReturn(CompletableFuture.completedFuture(SentimentType.POSITIVE));
+        Event keynote = Event.builder().id(UUID.randomUUID()).build();
+        Event workshop = Event.builder().id(UUID.randomUUID()).build();
+        queue.enqueue(setupFeedback());
+        await().untilAsserted(() -> verify(aiService, times(1)).analyzeSentiment(anyString()));
+
+        for (int i = 0; i < 3; i++) {
+            Feedback feedback = setupFeedback();
+            feedback.setEvent(keynote);
+            feedback.setContent("keynote-" + i);
+            queue.enqueue(feedback);
+        }
+        Feedback workshopFeedback = setupFeedback();
+        workshopFeedback.setEvent(workshop);
+        workshopFeedback.setContent("workshop");
+        queue.enqueue(workshopFeedback);
+
+        // Act
+        blocker.complete(SentimentType.NEUTRAL);
+
+        // Assert & Verify
+        await().untilAsserted(() -> verify(aiService, times(5)).analyzeSentiment(anyString()));
+        InOrder inOrder = inOrder(aiService);
+        inOrder.verify(aiService).analyzeSentiment(TEST_CONTENT);
+        inOrder.verify(aiService).analyzeSentiment("keynote-0");
+        inOrder.verify(aiService).analyzeSentiment("workshop");
+        inOrder.verify(aiService).analyzeSentiment("keynote-1");
+        await().untilAsserted(() -> assertEquals(5, meterRegistry.get("sentiment.time-to-result").timer().count()));
+    }
+
+    @Order(11)
+    @Test
+    @DisplayName("Result is broadcast only after its write succeeds")
+    void testSubmit_whenWriteFails_doesNotBroadcast() {
+        // Arrange
+        SentimentQueueService queue = setupQueue(10, 4);
+        Feedback feedback = setupFeedback();
+        when(aiService.analyzeSentiment(TEST_CONTENT)).thenReturn(CompletableFuture.completedFuture(SentimentType.POSITIVE));
+        when(sentimentUpdateService.updateSentiment(feedback.getId(), SentimentType.POSITIVE, false))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("ex")));
+
+        // Act
+        queue.submit(feedback);
+
+        // Verify
+        await().untilAsserted(() -> verify(sentimentUpdateService, times(1)).updateSentiment(feedback.getId(), SentimentType.POSITIVE, false));
+        verify(messagingTemplate, after(100).never()).convertAndSend(anyString(), nullable(Object.class));
+    }
+
+    @Order(12)
+    @Test
+    @DisplayName("Provisional result whose upgrade fails is retried by the next rescan")
+    void testRescanDeferred_whenUpgradeFails_retriesProvisionalRow() {
+        // Arrange
+        SentimentQueueService queue = setupQueue(10, 4, 50);
+        Feedback feedback = setupFeedback();
+        feedback.setContent("Great talk");
+        CompletableFuture<SentimentType> remote = new CompletableFuture<>();
+        when(aiService.analyzeSentiment(anyString()))
+                .thenReturn(remote)
+                .thenReturn(CompletableFuture.completedFuture(SentimentType.NEUTRAL));
+        when(feedbackRepository.findProvisionalAfter(any(UUID.class), any(Pageable.class))).thenReturn(List.of(feedback));
+
+        queue.submit(feedback);
+        await().untilAsserted(() -> assertTrue(feedback.isSentimentProvisional()));
+        remote.completeExceptionally(new RuntimeException("ex"));
+
+        // Act
+        await().untilAsserted(() -> {
+            queue.rescanDeferred();
+            verify(feedbackRepository, atLeastOnce()).findProvisionalAfter(any(UUID.class), any(Pageable.class));
+        });
+
+        // Assert & Verify
+        await().untilAsserted(() -> {
+            assertEquals(SentimentType.NEUTRAL, feedback.getSentimentType());
+            assertFalse(feedback.isSentimentProvisional());
+            verify(sentimentUpdateService, times(1)).updateSentiment(feedback.getId(), SentimentType.NEUTRAL, false);
+        });
+        assertEquals(1.0, meterRegistry.get("sentiment.provisional.upgraded").counter().count());
+    }
+
+    @Order(13)
+    @Test
+    @DisplayName("Failed retry of a provisional row keeps its result without rewriting it")
+    void testProcess_whenProvisionalRetryFails_keepsResultAndSchedulesRescan() {
+        // Arrange
+        SentimentQueueService queue = setupQueue(10, 4, 50);
+        Feedback feedback = setupFeedback();
+        feedback.setSentimentType(SentimentType.POSITIVE);
+        feedback.setSentimentProvisional(true);
+        when(aiService.analyzeSentiment(anyString())).thenReturn(CompletableFuture.failedFuture(new RuntimeException("ex")));
+
+        // Act
+        queue.enqueue(feedback);
+        await().untilAsserted(() -> {
+            queue.rescanDeferred();
+            verify(feedbackRepository, atLeastOnce()).findProvisionalAfter(any(UUID.class), any(Pageable.class));
+        });
+
+        // Assert & Verify
+        assertEquals(SentimentType.POSITIVE, feedback.getSentimentType());
+        assertTrue(feedback.isSentimentProvisional());
+        verify(sentimentUpdateService, after(100).never()).updateSentiment(any(UUID.class), any(SentimentType.class), anyBoolean());
+        assertEquals(0.0, meterRegistry.get("sentiment.provisional").counter().count());
+    }
+
+    @Order(14)
+    @Test
+    @DisplayName("Event over its share of the queue is deferred while other events are still accepted")
+    void testEnqueue_whenEventExceedsShare_defersOnlyThatEvent() {
+        // Arrange
+        SentimentQueueService queue = setupQueue(10, 1, 5_000, 50, 0.2, 20);
+        when(aiService.analyzeSentiment(anyString())).thenReturn(new CompletableFuture<>());
+        Event keynote = Event.builder().id(UUID.randomUUID()).build();
+        Event workshop = Event.builder().id(UUID.randomUUID()).build();
+        queue.enqueue(setupFeedback());
+        await().untilAsserted(() -> verify(aiService, times(1)).analyzeSentiment(anyString()));
+
+        // Act
+        List<Boolean> accepted = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Feedback feedback = setupFeedback();
+            feedback.setEvent(keynote);
+            accepted.add(queue.enqueue(feedback));
+        }
+        Feedback workshopFeedback = setupFeedback();
+        workshopFeedback.setEvent(workshop);
+        boolean workshopAccepted = queue.enqueue(workshopFeedback);
+
+        // Assert
+        assertEquals(List.of(true, true, false), accepted);
+        assertTrue(workshopAccepted);
+        assertEquals(1.0, meterRegistry.get("sentiment.queue.event-capped").counter().count());
+        assertEquals(0.0, meterRegistry.get("sentiment.queue.user-capped").counter().count());
+    }
+
+    @Order(15)
+    @Test
+    @DisplayName("Per-event time-to-result keeps a bounded number of tagged timers")
+    void testProcess_whenManyEventsComplete_boundsPerEventTimers() {
+        // Arrange
+        SentimentQueueService queue = setupQueue(10, 4, 5_000, 50, 1.0, 2);
+        when(aiService.analyzeSentiment(anyString())).thenReturn(CompletableFuture.completedFuture(SentimentType.POSITIVE));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            Feedback feedback = setupFeedback();
+            feedback.setEvent(Event.builder().id(UUID.randomUUID()).build());
+            queue.enqueue(feedback);
+        }
+
+        // Assert
+        await().untilAsserted(() -> assertEquals(5, meterRegistry.get("sentiment.time-to-result").timer().count()));
+        int eventTimers = meterRegistry.find("sentiment.time-to-result.event").timers().size();
+        assertTrue(eventTimers >= 1 && eventTimers <= 2);
+    }
+
+    @Order(16)
+    @Test
+    @DisplayName("Provisional result keeps its in-flight slot until the upgrade finishes")
+    void testProcess_whenUpgradeIsRunning_holdsInFlightPermit() {
+        // Arrange
+        SentimentQueueService queue = setupQueue(10, 1, 50);
+        Feedback slow = setupFeedback();
+        Feedback next = setupFeedback();
+        next.setContent("next-content");
+        CompletableFuture<SentimentType> remote = new CompletableFuture<>();
+        when(aiService.analyzeSentiment(TEST_CONTENT)).thenReturn(remote);
+        when(aiService.analyzeSentiment("next-content")).thenReturn(CompletableFuture.completedFuture(SentimentType.POSITIVE));
+
+        // Act
+        queue.enqueue(slow);
+        await().untilAsserted(() -> assertTrue(slow.isSentimentProvisional()));
+        queue.enqueue(next);
+
+        // Assert
+        verify(aiService, after(100).never()).analyzeSentiment("next-content");
+        assertEquals(1.0, meterRegistry.get("sentiment.queue.in-flight").gauge().value());
+
+        // Verify
+        remote.complete(SentimentType.NEUTRAL);
+        await().untilAsserted(() -> verify(sentimentUpdateService, times(1)).updateSentiment(next.getId(), SentimentType.POSITIVE, false));
+        assertFalse(slow.isSentimentProvisional());
+    }
+}
@@ -0,0 +1,138 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.enums.SentimentType;
+import org.example.backend.repository.FeedbackRepository;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@ExtendWith(MockitoExtension.class)
+class SentimentUpdateServiceTest {
+
+    @Mock
+    private FeedbackRepository feedbackRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SentimentUpdateService sentimentUpdateService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sentimentUpdateService.shutdown();
+    }
+
+    SentimentUpdateService setupService(int maxBatchSize, long flushIntervalMillis) {
+        sentimentUpdateService = new SentimentUpdateService(feedbackRepository, new TransactionTemplate(transactionManager),
+                meterRegistry, maxBatchSize, flushIntervalMillis);
+        return sentimentUpdateService;
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("Results arriving together are written as one update per sentiment")
+    void testUpdateSentiment_whenResultsArriveTogether_writesOneUpdatePerSentiment() {
+        // Arrange
+        SentimentUpdateService service = setupService(100, 60_000);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        // Act
+        CompletableFuture<Void> firstWritten = service.updateSentiment(first, SentimentType.POSITIVE, false);
+        service.updateSentiment(second, SentimentType.NEGATIVE, false);
+        service.updateSentiment(third, SentimentType.POSITIVE, false);
+        service.flush();
+
+        // Assert
+        assertTrue(firstWritten.isDone());
+        assertEquals(3.0, meterRegistry.get("sentiment.write.batch.size").summary().totalAmount());
+
+        // Verify
+        verify(feedbackRepository, times(1)).updateSentiment(List.of(first, third), SentimentType.POSITIVE, false);
+        verify(feedbackRepository, times(1)).updateSentiment(List.of(second), SentimentType.NEGATIVE, false);
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Later result for the same feedback replaces the pending one and both callers are completed")
+    void testUpdateSentiment_whenSameFeedbackIsUpdatedTwice_writesLatestOnly() {
+        // Arrange
+        SentimentUpdateService service = setupService(100, 60_000);
+        UUID feedbackId = UUID.randomUUID();
+
+        // Act
+        CompletableFuture<Void> provisional = service.updateSentiment(feedbackId, SentimentType.POSITIVE, true);
+        CompletableFuture<Void> upgraded = service.updateSentiment(feedbackId, SentimentType.NEUTRAL, false);
+        service.flush();
+
+        // Assert
+        assertTrue(provisional.isDone());
+        assertTrue(upgraded.isDone());
+
+        // Verify
+        verify(feedbackRepository, times(1)).updateSentiment(List.of(feedbackId), SentimentType.NEUTRAL, false);
+        verify(feedbackRepository, never()).updateSentiment(anyList(), eq(SentimentType.POSITIVE), anyBoolean());
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Full batch and flush timer both write without an explicit flush")
+    void testUpdateSentiment_whenBatchFillsOrTimerFires_writesInBackground() {
+        // Arrange
+        SentimentUpdateService service = setupService(2, 20);
+
+        // Act
+        CompletableFuture<Void> first = service.updateSentiment(UUID.randomUUID(), SentimentType.POSITIVE, false);
+        CompletableFuture<Void> second = service.updateSentiment(UUID.randomUUID(), SentimentType.POSITIVE, false);
+        CompletableFuture<Void> alone = service.updateSentiment(UUID.randomUUID(), SentimentType.NEGATIVE, false);
+
+        // Assert & Verify
+        await().until(() -> first.isDone() && second.isDone() && alone.isDone());
+        verify(feedbackRepository, times(1)).updateSentiment(anyList(), eq(SentimentType.POSITIVE), eq(false));
+        verify(feedbackRepository, times(1)).updateSentiment(anyList(), eq(SentimentType.NEGATIVE), eq(false));
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("Failed write completes every caller of the batch exceptionally")
+    void testFlush_whenUpdateFails_completesCallersExceptionally() {
+        // Arrange
+        SentimentUpdateService service = setupService(100, 60_000);
+        when(feedbackRepository.updateSentiment(anyList(), any(SentimentType.class), anyBoolean()))
+                .thenThrow(new RuntimeException("ex"));
+
+        // Act
+        CompletableFuture<Void> written = service.updateSentiment(UUID.randomUUID(), SentimentType.POSITIVE, false);
+        service.flush();
+
+        // Assert
+        assertTrue(written.isCompletedExceptionally());
+        assertThrows(CompletionException.class, written::join);
+
+        // Verify
+        verify(transactionManager, times(1)).rollback(any());
+    }
+}
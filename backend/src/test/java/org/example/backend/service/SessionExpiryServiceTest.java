@@ -0,0 +1,153 @@
+package org.example.backend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.backend.dto.token.TokenExpiryDTO;
+import org.example.backend.dto.websocket.WebSocketMessageDTO;
+import org.example.backend.repository.TokenRepository;
+import org.example.backend.utils.TokenHashUtils;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@ExtendWith(MockitoExtension.class)
+class SessionExpiryServiceTest {
+
+    private SessionExpiryService sessionExpiryService;
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    private static final String TEST_USERNAME = "Test";
+    private static final String TEST_HASH = TokenHashUtils.sha256("valid-token");
+
+    @BeforeEach
+    void setup() {
+        sessionExpiryService = new SessionExpiryService(tokenRepository, messagingTemplate,
+                new SimpleMeterRegistry(), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sessionExpiryService.shutdown();
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("Expired session is revoked and user is notified at expiry")
+    void testSchedule_whenExpiryIsReached_deletesTokenAndNotifiesUser() {
+        // Arrange
+        when(tokenRepository.deleteActiveByTokenHash(TEST_HASH)).thenReturn(1);
+
+        // Act
+        sessionExpiryService.schedule(TEST_HASH, TEST_USERNAME, Instant.now().plusMillis(50));
+
+        // Assert & Verify
+        await().untilAsserted(() -> {
+            verify(tokenRepository, times(1)).deleteActiveByTokenHash(TEST_HASH);
+            verify(messagingTemplate, times(1))
+                    .convertAndSendToUser(eq(TEST_USERNAME), eq("/queue/session"), any(WebSocketMessageDTO.class));
+        });
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Revoked, expired or already removed session is cleaned up without a notification")
+    void testExpire_whenTokenIsNoLongerActive_skipsNotification() {
+        // Arrange
+        when(tokenRepository.deleteActiveByTokenHash(TEST_HASH)).thenReturn(0);
+
+        // Act
+        sessionExpiryService.expire(TEST_HASH, TEST_USERNAME);
+
+        // Verify
+        verify(tokenRepository, times(1)).deleteActiveByTokenHash(TEST_HASH);
+        verify(tokenRepository, times(1)).deleteByTokenHash(TEST_HASH);
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Cancelled session never fires")
+    void testCancel_whenSessionIsLoggedOut_doesNotFire() throws InterruptedException {
+        // Act
+        sessionExpiryService.schedule(TEST_HASH, TEST_USERNAME, Instant.now().plusMillis(200));
+        sessionExpiryService.cancel(TEST_HASH);
+        Thread.sleep(400);
+
+        // Verify
+        verifyNoInteractions(tokenRepository, messagingTemplate);
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("Startup load pages through active tokens by id")
+    void testLoadActiveTokens_whenTokensExist_schedulesEachPage() {
+        // Arrange
+        Instant future = Instant.now().plusSeconds(3600);
+        TokenExpiryDTO first = new TokenExpiryDTO(UUID.randomUUID(), "hash-1", TEST_USERNAME, future, false, false);
+        TokenExpiryDTO second = new TokenExpiryDTO(UUID.randomUUID(), "hash-2", TEST_USERNAME, future, false, false);
+        TokenExpiryDTO third = new TokenExpiryDTO(UUID.randomUUID(), "hash-3", TEST_USERNAME, future, false, false);
+
+        when(tokenRepository.findActiveTokensAfter(any(UUID.class), any(Pageable.class)))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+
+        // Act
+        sessionExpiryService.loadActiveTokens();
+
+        // Verify
+        verify(tokenRepository, times(1)).findActiveTokensAfter(eq(new UUID(0, 0)), any(Pageable.class));
+        verify(tokenRepository, times(1)).findActiveTokensAfter(eq(second.getId()), any(Pageable.class));
+        verify(tokenRepository, never()).deleteActiveByTokenHash(any());
+    }
+
+    @Order(5)
+    @Test
+    @DisplayName("Startup load with no active tokens queries once")
+    void testLoadActiveTokens_whenNoTokens_queriesOnce() {
+        // Arrange
+        when(tokenRepository.findActiveTokensAfter(any(UUID.class), any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        // Act
+        sessionExpiryService.loadActiveTokens();
+
+        // Verify
+        verify(tokenRepository, times(1)).findActiveTokensAfter(any(UUID.class), any(Pageable.class));
+    }
+
+    @Order(6)
+    @Test
+    @DisplayName("Scheduled hashes are listed per user until they are cancelled")
+    void testScheduledFor_whenUsersHaveTimers_returnsOnlyThatUsersHashes() {
+        // Arrange
+        Instant future = Instant.now().plusSeconds(3600);
+        sessionExpiryService.schedule("hash-1", TEST_USERNAME, future);
+        sessionExpiryService.schedule("hash-2", TEST_USERNAME, future);
+        sessionExpiryService.schedule("hash-3", "Other", future);
+
+        // Act
+        sessionExpiryService.cancel("hash-2");
+
+        // Assert
+        assertEquals(List.of("hash-1"), sessionExpiryService.scheduledFor(TEST_USERNAME));
+        assertEquals(List.of("hash-3"), sessionExpiryService.scheduledFor("Other"));
+    }
+}
@@ -0,0 +1,223 @@
+package org.example.backend.service;
+
+import org.example.backend.dto.token.TokenExpiryDTO;
+import org.example.backend.dto.websocket.WebSocketMessageDTO;
+import org.example.backend.enums.TokenType;
+import org.example.backend.enums.UserRole;
+import org.example.backend.model.Token;
+import org.example.backend.model.User;
+import org.example.backend.repository.TokenRepository;
+import org.example.backend.utils.TokenHashUtils;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@ExtendWith(MockitoExtension.class)
+class TokenServiceTest {
+
+    @InjectMocks
+    private TokenService tokenService;
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private SessionExpiryService sessionExpiryService;
+
+    private static final String TEST_TOKEN = "valid-token";
+    private static final String TEST_USERNAME = "Test";
+
+    User setupUser() {
+        return User.builder()
+                .id(UUID.randomUUID())
+                .username(TEST_USERNAME)
+                .email("test@email.com")
+                .password("12345678")
+                .role(UserRole.ROLE_USER)
+                .build();
+    }
+
+    TokenExpiryDTO setupExpiredToken() {
+        return setupExpiredToken(Instant.now().minusSeconds(60), false, false);
+    }
+
+    TokenExpiryDTO setupExpiredToken(Instant expiresAt, boolean expired, boolean revoked) {
+        return new TokenExpiryDTO(UUID.randomUUID(), TokenHashUtils.sha256(UUID.randomUUID().toString()),
+                TEST_USERNAME, expiresAt, expired, revoked);
+    }
+
+    @BeforeEach
+    void setup() {
+        ReflectionTestUtils.setField(tokenService, "cleanupBatchSize", 2);
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("Stores token digest and expiry instead of the raw token")
+    void testSaveUserToken_whenValidDetailsProvided_storesHashAndExpiry() {
+        // Arrange
+        User user = setupUser();
+        Date expiration = new Date(System.currentTimeMillis() + 60_000L);
+        when(jwtService.extractExpiration(TEST_TOKEN)).thenReturn(expiration);
+
+        // Act
+        tokenService.saveUserToken(user, TEST_TOKEN);
+
+        // Assert
+        ArgumentCaptor<Token> captor = ArgumentCaptor.forClass(Token.class);
+        verify(tokenRepository, times(1)).save(captor.capture());
+        Token saved = captor.getValue();
+        assertEquals(TokenHashUtils.sha256(TEST_TOKEN), saved.getTokenHash());
+        assertEquals(64, saved.getTokenHash().length());
+        assertEquals(expiration.toInstant(), saved.getExpiresAt());
+        assertEquals(TokenType.REFRESH, saved.getTokenType());
+        assertSame(user, saved.getUser());
+
+        // Verify
+        verify(sessionExpiryService, times(1)).schedule(saved.getTokenHash(), TEST_USERNAME, expiration.toInstant());
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Cleanup deletes expired tokens chunk by chunk")
+    void testCleanupExpiredTokens_whenSeveralChunksExpired_deletesEachChunk() {
+        // Arrange
+        List<TokenExpiryDTO> firstChunk = List.of(setupExpiredToken(), setupExpiredToken());
+        List<TokenExpiryDTO> secondChunk = List.of(setupExpiredToken());
+
+        when(tokenRepository.findExpiredTokens(any(Instant.class), any(Pageable.class)))
+                .thenReturn(firstChunk)
+                .thenReturn(secondChunk);
+
+        // Act
+        tokenService.cleanupExpiredTokens();
+
+        // Verify
+        verify(tokenRepository, times(2)).findExpiredTokens(any(Instant.class), any(Pageable.class));
+        verify(tokenRepository).deleteAllByIdInBatch(firstChunk.stream().map(TokenExpiryDTO::getId).toList());
+        verify(tokenRepository).deleteAllByIdInBatch(secondChunk.stream().map(TokenExpiryDTO::getId).toList());
+        verify(messagingTemplate, times(3))
+                .convertAndSendToUser(eq(TEST_USERNAME), eq("/queue/session"), any(WebSocketMessageDTO.class));
+        verify(tokenRepository, never()).findAll();
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("Cleanup does nothing when no token is expired")
+    void testCleanupExpiredTokens_whenNothingExpired_deletesNothing() {
+        // Arrange
+        when(tokenRepository.findExpiredTokens(any(Instant.class), any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        // Act
+        tokenService.cleanupExpiredTokens();
+
+        // Verify
+        verify(tokenRepository, never()).deleteAllByIdInBatch(any());
+        verifyNoInteractions(messagingTemplate);
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("Deleting a stored token cancels its expiry timer")
+    void testDeleteUserToken_whenTokenIsStored_returnsTrue() {
+        // Arrange
+        String tokenHash = TokenHashUtils.sha256(TEST_TOKEN);
+        when(tokenRepository.deleteActiveByTokenHash(tokenHash)).thenReturn(1);
+
+        // Act
+        boolean deleted = tokenService.deleteUserToken(tokenHash);
+
+        // Assert
+        assertTrue(deleted);
+
+        // Verify
+        verify(sessionExpiryService, times(1)).cancel(tokenHash);
+    }
+
+    @Order(5)
+    @Test
+    @DisplayName("Cleanup deletes revoked, expired and legacy rows without notifying their users")
+    void testCleanupExpiredTokens_whenRowsWereInactive_deletesWithoutPush() {
+        // Arrange
+        TokenExpiryDTO active = setupExpiredToken();
+        List<TokenExpiryDTO> chunk = List.of(
+                active,
+                setupExpiredToken(Instant.now().minusSeconds(60), false, true),
+                setupExpiredToken(Instant.now().minusSeconds(60), true, false),
+                setupExpiredToken(null, false, false));
+        ReflectionTestUtils.setField(tokenService, "cleanupBatchSize", 10);
+        when(tokenRepository.findExpiredTokens(any(Instant.class), any(Pageable.class))).thenReturn(chunk);
+
+        // Act
+        tokenService.cleanupExpiredTokens();
+
+        // Verify
+        verify(tokenRepository).deleteAllByIdInBatch(chunk.stream().map(TokenExpiryDTO::getId).toList());
+        verify(messagingTemplate, times(1))
+                .convertAndSendToUser(eq(TEST_USERNAME), eq("/queue/session"), any(WebSocketMessageDTO.class));
+    }
+
+    @Order(6)
+    @Test
+    @DisplayName("Replacing a user's tokens cancels the expiry timers of the deleted ones")
+    void testReplaceUserTokens_whenUserHasTokens_cancelsTheirTimers() {
+        // Arrange
+        User user = setupUser();
+        when(sessionExpiryService.scheduledFor(TEST_USERNAME)).thenReturn(List.of("hash-1", "hash-2"));
+        when(jwtService.extractExpiration(TEST_TOKEN)).thenReturn(new Date(System.currentTimeMillis() + 60_000L));
+
+        // Act
+        tokenService.replaceUserTokens(user, TEST_TOKEN);
+
+        // Verify
+        InOrder inOrder = inOrder(tokenRepository, sessionExpiryService);
+        inOrder.verify(tokenRepository).deleteAllByUserId(user.getId());
+        inOrder.verify(sessionExpiryService).cancel("hash-1");
+        inOrder.verify(sessionExpiryService).cancel("hash-2");
+        inOrder.verify(sessionExpiryService).schedule(eq(TokenHashUtils.sha256(TEST_TOKEN)), eq(TEST_USERNAME), any(Instant.class));
+    }
+
+    @Order(7)
+    @Test
+    @DisplayName("Revoked or expired token is not accepted for deletion")
+    void testDeleteUserToken_whenTokenIsNotActive_returnsFalse() {
+        // Arrange
+        String tokenHash = TokenHashUtils.sha256(TEST_TOKEN);
+        when(tokenRepository.deleteActiveByTokenHash(tokenHash)).thenReturn(0);
+
+        // Act
+        boolean deleted = tokenService.deleteUserToken(tokenHash);
+
+        // Assert
+        assertFalse(deleted);
+
+        // Verify
+        verify(tokenRepository, never()).deleteByTokenHash(anyString());
+    }
+}
@@ -0,0 +1,143 @@
+package org.example.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.example.backend.dto.user.BulkUserResultDTO;
+import org.example.backend.dto.user.UserRequestDTO;
+import org.example.backend.enums.BulkUserStatus;
+import org.example.backend.exception.BadRequestException;
+import org.junit.jupiter.api.*;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class UserImportServiceTest {
+
+    private UserService userService;
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void setup() {
+        userService = mock(UserService.class);
+        userImportService = new UserImportService(userService, new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(userImportService, "chunkSize", 2);
+
+        when(userService.createUsers(anyList())).thenAnswer(invocation -> {
+            List<UserRequestDTO> chunk = invocation.getArgument(0);
+            return chunk.stream()
+                    .map(request -> BulkUserResultDTO.builder()
+                            .username(request.getUsername())
+                            .status(BulkUserStatus.CREATED)
+                            .build())
+                    .toList();
+        });
+    }
+
+    InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("NDJSON rows are created in chunks and reported per row")
+    void testImportUsers_whenNdjsonIsValid_createsUsersInChunks() throws Exception {
+        // Arrange
+        String ndjson = """
+                {"username":"first","email":"first@email.com","password":"12345678"}
+                {"username":"second","email":"second@email.com","password":"12345678"}
+
+                {"username":"third","email":"third@email.com","password":"12345678"}
+                """;
+
+        // Act
+        var response = userImportService.importUsers(body(ndjson), MediaType.APPLICATION_NDJSON);
+
+        // Assert
+        assertEquals(3, response.getCreated());
+        assertEquals(0, response.getFailed());
+        assertEquals(List.of(1L, 2L, 3L), response.getResults().stream().map(BulkUserResultDTO::getRow).toList());
+        assertEquals("third", response.getResults().get(2).getUsername());
+
+        // Verify
+        verify(userService, times(2)).createUsers(anyList());
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Malformed and invalid rows are reported without reaching the database")
+    void testImportUsers_whenRowsAreInvalid_reportsThemAsInvalid() throws Exception {
+        // Arrange
+        String ndjson = """
+                {"username":"first","email":"first@email.com","password":"12345678"}
+                {"username":
+                {"username":" ","email":"blank@email.com","password":"12345678"}
+                {"username":"noemail","password":"12345678"}
+                """;
+
+        // Act
+        var response = userImportService.importUsers(body(ndjson), MediaType.APPLICATION_NDJSON);
+
+        // Assert
+        assertEquals(1, response.getCreated());
+        assertEquals(3, response.getFailed());
+        assertEquals("Malformed row", response.getResults().get(1).getMessage());
+        assertEquals("Username is mandatory", response.getResults().get(2).getMessage());
+        assertEquals("Email is mandatory", response.getResults().get(3).getMessage());
+        assertEquals(BulkUserStatus.INVALID, response.getResults().get(3).getStatus());
+
+        // Verify
+        verify(userService, times(1)).createUsers(argThat(chunk -> chunk.size() == 1));
+    }
+
+    @Order(3)
+    @Test
+    @DisplayName("CSV columns are matched by header and quoted fields are supported")
+    void testImportUsers_whenCsvIsValid_mapsColumnsByHeader() throws Exception {
+        // Arrange
+        String csv = "email,username,password\n"
+                + "first@email.com,first,\"pass,word\"\n"
+                + "second@email.com,second,\"say \"\"hi\"\"\"\n";
+
+        // Act
+        var response = userImportService.importUsers(body(csv), UserImportService.TEXT_CSV);
+
+        // Assert
+        assertEquals(2, response.getCreated());
+
+        // Verify
+        verify(userService).createUsers(argThat(chunk -> chunk.get(0).getUsername().equals("first")
+                && chunk.get(0).getPassword().equals("pass,word")
+                && chunk.get(1).getPassword().equals("say \"hi\"")));
+    }
+
+    @Order(4)
+    @Test
+    @DisplayName("CSV without the required columns is rejected")
+    void testImportUsers_whenCsvHeaderIsMissingColumns_throwsBadRequestException() {
+        // Arrange
+        String csv = """
+                username,password
+                first,12345678
+                """;
+
+        // Act
+        var thrown = assertThrows(BadRequestException.class,
+                () -> userImportService.importUsers(body(csv), UserImportService.TEXT_CSV));
+
+        // Assert
+        assertEquals("CSV header must contain username, email and password", thrown.getMessage());
+
+        // Verify
+        verifyNoInteractions(userService);
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.backend.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.backend.dto.user.BulkUserResultDTO;
+import org.example.backend.dto.user.UserRequestDTO;
+import org.example.backend.enums.BulkUserStatus;
+import org.example.backend.enums.UserRole;
+import org.example.backend.mapper.UserMapperImpl;
+import org.example.backend.model.User;
+import org.example.backend.repository.UserRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({UserService.class, UserMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class UserServiceQueryCountTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private PasswordEncoder passwordEncoder;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userRepository.save(User.builder()
+                .username("taken")
+                .email("taken@email.com")
+                .password("hashed-password")
+                .role(UserRole.ROLE_USER)
+                .build());
+
+        when(passwordEncoder.encode(any())).thenReturn("hashed-password");
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Order(1)
+    @Test
+    @DisplayName("A chunk costs one duplicate query and one batched insert")
+    void testCreateUsers_whenChunkIsNew_executesOneSelectAndOneBatch() {
+        // Arrange
+        List<UserRequestDTO> chunk = IntStream.range(0, 20)
+                .mapToObj(i -> UserRequestDTO.builder()
+                        .username("user" + i)
+                        .email("user%d@email.com".formatted(i))
+                        .password("12345678")
+                        .build())
+                .toList();
+
+        // Act
+        List<BulkUserResultDTO> results = userService.createUsers(chunk);
+
+        // Assert
+        assertTrue(results.stream().allMatch(result -> result.getStatus() == BulkUserStatus.CREATED));
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(20, statistics.getEntityInsertCount());
+        assertEquals(21, userRepository.count());
+    }
+
+    @Order(2)
+    @Test
+    @DisplayName("Rows taken in the database are reported without an insert attempt")
+    void testCreateUsers_whenRowIsTaken_skipsIt() {
+        // Arrange
+        List<UserRequestDTO> chunk = List.of(
+                UserRequestDTO.builder().username("taken").email("new@email.com").password("12345678").build(),
+                UserRequestDTO.builder().username("new").email("new2@email.com").password("12345678").build());
+
+        // Act
+        List<BulkUserResultDTO> results = userService.createUsers(chunk);
+
+        // Assert
+        assertEquals(BulkUserStatus.DUPLICATE, results.get(0).getStatus());
+        assertEquals(BulkUserStatus.CREATED, results.get(1).getStatus());
+        assertEquals(1, statistics.getEntityInsertCount());
+    }
+}
@@ -1,29 +1,36 @@
 package org.example.backend.service;
 
+import org.example.backend.dto.user.BulkUserResultDTO;
+import org.example.backend.dto.user.UserIdentityDTO;
 import org.example.backend.dto.user.UserRequestDTO;
 import org.example.backend.dto.user.UserResponseDTO;
+import org.example.backend.enums.BulkUserStatus;
 import org.example.backend.enums.UserRole;
 import org.example.backend.exception.AlreadyExistsException;
 import org.example.backend.exception.NotFoundException;
 import org.example.backend.mapper.UserMapper;
 import org.example.backend.model.User;
 import org.example.backend.repository.UserRepository;
+import org.example.backend.userDetails.JwtUserPrincipal;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -243,4 +250,117 @@ class UserServiceTest {
         // Verify
         verify(userRepository, times(1)).findById(user.getId());
     }
-}
\ No newline at end of file
+
+    @Order(7)
+    @Test
+    @DisplayName("Current user reference is built from token claims")
+    void testGetCurrentUserReference_whenPrincipalIsFromToken_returnsReferenceWithoutQuery() {
+        // Arrange
+        User user = validUser();
+        JwtUserPrincipal principal = new JwtUserPrincipal(user.getId(), TEST_USERNAME, UserRole.ROLE_USER);
+
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(principal);
+        SecurityContextHolder.setContext(securityContext);
+
+        when(userRepository.getReferenceById(user.getId())).thenReturn(user);
+
+        // Act
+        var result = userService.getCurrentUserReference();
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(user.getId(), result.get().getId());
+
+        // Verify
+        verify(userRepository, times(1)).getReferenceById(user.getId());
+        verify(userRepository, never()).findUserByUsername(any());
+    }
+
+    @Order(8)
+    @Test
+    @DisplayName("Current user reference falls back to lookup for other principals")
+    void testGetCurrentUserReference_whenPrincipalIsUserDetails_loadsUser() {
+        // Arrange
+        User user = validUser();
+
+        when(securityContext.getAuthentication()).thenReturn(authentication);
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+        SecurityContextHolder.setContext(securityContext);
+
+        when(userDetails.getUsername()).thenReturn(TEST_USERNAME);
+        when(userRepository.findUserByUsername(TEST_USERNAME)).thenReturn(Optional.of(user));
+
+        // Act
+        var result = userService.getCurrentUserReference();
+
+        // Assert
+        assertTrue(result.isPresent());
+        assertEquals(TEST_USERNAME, result.get().getUsername());
+
+        // Verify
+        verify(userRepository, never()).getReferenceById(any());
+    }
+
+    @Order(9)
+    @Test
+    @DisplayName("Bulk create skips rows that already exist or repeat within the chunk")
+    void testCreateUsers_whenChunkHasDuplicates_createsOnlyNewUsers() {
+        // Arrange
+        UserRequestDTO existing = UserRequestDTO.builder().username("taken").email("taken@email.com").password(TEST_PASSWORD).build();
+        UserRequestDTO fresh = validUserRequest();
+        UserRequestDTO repeated = UserRequestDTO.builder().username("other").email(TEST_EMAIL.toUpperCase()).password(TEST_PASSWORD).build();
+
+        when(userRepository.findIdentities(any(), any()))
+                .thenReturn(List.of(new UserIdentityDTO("Taken", "other@email.com")));
+        when(userMapper.toEntity(fresh)).thenReturn(validUser());
+        when(passwordEncoder.encode(TEST_PASSWORD)).thenReturn("encoded-password");
+
+        // Act
+        List<BulkUserResultDTO> results = userService.createUsers(List.of(existing, fresh, repeated));
+
+        // Assert
+        assertEquals(BulkUserStatus.DUPLICATE, results.get(0).getStatus());
+        assertEquals("Username already exists", results.get(0).getMessage());
+        assertEquals(BulkUserStatus.CREATED, results.get(1).getStatus());
+        assertNotNull(results.get(1).getId());
+        assertEquals(BulkUserStatus.DUPLICATE, results.get(2).getStatus());
+        assertEquals("Email already exists", results.get(2).getMessage());
+
+        // Verify
+        verify(userRepository, times(1)).findIdentities(any(), any());
+        verify(userRepository, times(1)).saveAll(argThat(users -> ((List<User>) users).size() == 1));
+        verify(passwordEncoder, times(1)).encode(TEST_PASSWORD);
+        verify(userRepository, never()).existsByEmail(any());
+        verify(userRepository, never()).existsByUsername(any());
+    }
+
+    @Order(10)
+    @Test
+    @DisplayName("Bulk create falls back to single inserts when a concurrent insert conflicts")
+    void testCreateUsers_whenBatchInsertConflicts_retriesRowByRow() {
+        // Arrange
+        UserRequestDTO first = validUserRequest();
+        UserRequestDTO second = UserRequestDTO.builder().username("second").email("second@email.com").password(TEST_PASSWORD).build();
+        User firstUser = validUser();
+        User secondUser = User.builder().username("second").email("second@email.com").build();
+
+        when(userRepository.findIdentities(any(), any())).thenReturn(List.of());
+        when(userMapper.toEntity(first)).thenReturn(firstUser);
+        when(userMapper.toEntity(second)).thenReturn(secondUser);
+        when(passwordEncoder.encode(TEST_PASSWORD)).thenReturn("encoded-password");
+        when(userRepository.saveAll(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(userRepository.save(firstUser)).thenReturn(firstUser);
+        when(userRepository.save(secondUser)).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        // Act
+        List<BulkUserResultDTO> results = userService.createUsers(List.of(first, second));
+
+        // Assert
+        assertEquals(BulkUserStatus.CREATED, results.get(0).getStatus());
+        assertEquals(BulkUserStatus.DUPLICATE, results.get(1).getStatus());
+
+        // Verify
+        verify(userRepository, times(2)).save(any(User.class));
+    }
+}
@@ -1,16 +1,34 @@
 import {inject} from '@angular/core';
 import {AuthService} from '../services/auth-service';
-import {HttpInterceptorFn} from '@angular/common/http';
+import {HttpInterceptorFn, HttpRequest} from '@angular/common/http';
+import {catchError, switchMap, throwError} from 'rxjs';
+import {LoginResponse} from '../models/login-response';
+
+const withToken = (req: HttpRequest<unknown>, token: string): HttpRequest<unknown> =>
+  req.clone({
+    headers: req.headers.set('Authorization', `Bearer ${token}`)
+  });
 
 export const authInterceptor: HttpInterceptorFn = (req, next) => {
   const authService = inject(AuthService);
+  if (req.url.includes('/auth/')) {
+    return next(req);
+  }
+
   const token = authService.getToken();
 
+  if (token && authService.isTokenExpired(token)) {
+    return authService.refreshTokens().pipe(
+      switchMap((response: LoginResponse) => next(withToken(req, response.token))),
+      catchError((error) => {
+        authService.logout('expired');
+        return throwError(() => error);
+      })
+    );
+  }
+
   if (token) {
-    const authReq = req.clone({
-      headers: req.headers.set('Authorization', `Bearer ${token}`)
-    });
-    return next(authReq);
+    return next(withToken(req, token));
   }
 
   return next(req);
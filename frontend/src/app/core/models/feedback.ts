@@ -6,4 +6,5 @@ export interface Feedback {
   content: string,
   createdAt: Date,
   sentimentType: SentimentType,
+  sentimentProvisional?: boolean,
 }
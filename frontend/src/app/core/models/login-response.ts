@@ -1,3 +1,4 @@
 export interface LoginResponse {
-  token: string
+  token: string,
+  refreshToken: string
 }
@@ -1,7 +1,7 @@
 import {inject, Injectable} from '@angular/core';
 import {environment} from '../../../environments/environment';
 import {HttpClient, HttpResponse} from '@angular/common/http';
-import {Observable} from 'rxjs';
+import {finalize, Observable, shareReplay, tap} from 'rxjs';
 import {Register} from '../models/register';
 import {LoginRequest} from '../models/login-request';
 import {LoginResponse} from '../models/login-response';
@@ -23,6 +23,7 @@ export class AuthService {
 
   private http: HttpClient = inject(HttpClient);
   private router: Router = inject(Router);
+  private refreshInFlight$: Observable<LoginResponse> | null = null;
 
   createUser(payload: Register): Observable<HttpResponse<void>> {
     return this.http.post<void>(`${this._baseUrl}/register`, payload, {observe: 'response'});
@@ -33,30 +34,57 @@ export class AuthService {
   }
 
   logoutUser(): Observable<HttpResponse<string>> {
-    const token = this.getToken();
-    if (!token) {
+    const refreshToken = this.getRefreshToken();
+    if (!refreshToken) {
       this.logout();
       throw new Error('No token available');
     }
 
     return this.http.post(
-      `${this._baseUrl}/logout`, {}, {observe: 'response', headers: {Authorization: `Bearer ${token}`}, responseType: 'text'}
+      `${this._baseUrl}/logout`, {refreshToken}, {observe: 'response', responseType: 'text'}
     );
   }
 
+  // Parallel requests with an expired access token share one refresh, since each refresh token is single-use.
+  refreshTokens(): Observable<LoginResponse> {
+    if (!this.refreshInFlight$) {
+      this.refreshInFlight$ = this.http.post<LoginResponse>(`${this._baseUrl}/refresh`, {refreshToken: this.getRefreshToken()})
+        .pipe(
+          tap((response: LoginResponse) => this.setTokens(response)),
+          finalize(() => this.refreshInFlight$ = null),
+          shareReplay(1)
+        );
+    }
+    return this.refreshInFlight$;
+  }
+
   getToken(): string | null {
     const token = localStorage.getItem('token');
-    if (token && this.isTokenExpired(token)) {
-      this.logout();
+    if (token && this.isTokenExpired(token) && !this.canRefresh()) {
+      this.logout('expired');
       return null;
     }
     return token;
   }
 
+  getRefreshToken(): string | null {
+    return localStorage.getItem('refreshToken');
+  }
+
+  canRefresh(): boolean {
+    const refreshToken = this.getRefreshToken();
+    return !!refreshToken && !this.isTokenExpired(refreshToken);
+  }
+
   setToken(token: string): void {
     localStorage.setItem('token', token);
   }
 
+  setTokens(response: LoginResponse): void {
+    this.setToken(response.token);
+    localStorage.setItem('refreshToken', response.refreshToken);
+  }
+
   isTokenExpired(token: string): boolean {
     try {
       const decoded: JwtPayload = jwtDecode(token);
@@ -40,9 +40,9 @@ export class LoginForm {
 
     this.authService.loginUser(payload).subscribe({
       next: (response) => {
-        const token = response.body?.token;
-        if (token) {
-          this.authService.setToken(token);
+        const body = response.body;
+        if (body?.token) {
+          this.authService.setTokens(body);
           this.websocketService.disconnect();
           this.websocketService.connect();
         }